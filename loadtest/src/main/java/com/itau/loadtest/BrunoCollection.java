@@ -0,0 +1,126 @@
+package com.itau.loadtest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Leitor mínimo dos arquivos {@code .bru} da collection do Bruno.
+ * <p>
+ * Extrai de cada requisição o nome, o método, a URL e o corpo JSON. Somente requisições
+ * endereçadas a {@code {{base_URL}}} são consideradas replicáveis; o accountId do caminho
+ * ({@code /contratos/{id}}) e do campo {@code accountId} do corpo é trocado pelo
+ * marcador {@link Operacao#MARCADOR_CONTA}.
+ */
+public final class BrunoCollection {
+
+    private static final String BASE_URL = "{{base_URL}}";
+    private static final Set<String> METODOS = Set.of("get", "post", "put", "patch", "delete");
+    private static final Pattern INICIO_BLOCO = Pattern.compile("^(\\S+) [\\{\\[]$");
+    private static final Pattern CONTA_CAMINHO = Pattern.compile("(/contratos/)[^/]+");
+    private static final Pattern CONTA_CORPO = Pattern.compile("(\"accountId\"\\s*:\\s*\")[^\"]*(\")");
+
+    private BrunoCollection() {
+    }
+
+    /**
+     * @param diretorio O diretório da collection.
+     * @return As operações replicáveis, indexadas pelo {@code meta.name}.
+     */
+    public static Map<String, Operacao> carregar(Path diretorio) throws IOException {
+        List<Path> arquivos;
+        try (Stream<Path> listagem = Files.list(diretorio)) {
+            arquivos = listagem.filter(p -> p.getFileName().toString().endsWith(".bru")).sorted().toList();
+        }
+
+        Map<String, Operacao> operacoes = new LinkedHashMap<>();
+        for (Path arquivo : arquivos) {
+            Operacao operacao = interpretar(Files.readString(arquivo, StandardCharsets.UTF_8));
+            if (operacao != null) {
+                operacoes.put(operacao.nome(), operacao);
+            }
+        }
+        return operacoes;
+    }
+
+    /**
+     * @param conteudo O conteúdo de um arquivo {@code .bru}.
+     * @return A operação descrita, ou {@code null} se o arquivo não descrever uma requisição replicável.
+     */
+    static Operacao interpretar(String conteudo) {
+        Map<String, List<String>> blocos = blocos(conteudo);
+
+        String nome = propriedade(blocos.get("meta"), "name");
+        String metodo = null;
+        String url = null;
+        for (Map.Entry<String, List<String>> bloco : blocos.entrySet()) {
+            if (METODOS.contains(bloco.getKey())) {
+                metodo = bloco.getKey().toUpperCase(Locale.ROOT);
+                url = propriedade(bloco.getValue(), "url");
+            }
+        }
+
+        if (nome == null || metodo == null || url == null || !url.startsWith(BASE_URL)) {
+            return null;
+        }
+        String caminho = url.substring(BASE_URL.length());
+        if (caminho.contains("{{")) {
+            return null;
+        }
+
+        Matcher conta = CONTA_CAMINHO.matcher(caminho);
+        caminho = conta.replaceFirst("$1" + Matcher.quoteReplacement(Operacao.MARCADOR_CONTA));
+
+        String corpo = null;
+        List<String> linhasCorpo = blocos.get("body:json");
+        if (linhasCorpo != null) {
+            corpo = String.join("\n", linhasCorpo).strip();
+            corpo = CONTA_CORPO.matcher(corpo).replaceAll("$1" + Matcher.quoteReplacement(Operacao.MARCADOR_CONTA) + "$2");
+        }
+        return new Operacao(nome, metodo, caminho, corpo);
+    }
+
+    private static Map<String, List<String>> blocos(String conteudo) {
+        Map<String, List<String>> blocos = new LinkedHashMap<>();
+        String atual = null;
+        List<String> linhas = null;
+        for (String linha : conteudo.split("\\R")) {
+            if (atual == null) {
+                Matcher inicio = INICIO_BLOCO.matcher(linha);
+                if (inicio.matches()) {
+                    atual = inicio.group(1);
+                    linhas = new ArrayList<>();
+                }
+            } else if (linha.equals("}") || linha.equals("]")) {
+                blocos.put(atual, linhas);
+                atual = null;
+            } else {
+                linhas.add(linha.startsWith("  ") ? linha.substring(2) : linha);
+            }
+        }
+        return blocos;
+    }
+
+    private static String propriedade(List<String> linhas, String chave) {
+        if (linhas == null) {
+            return null;
+        }
+        String prefixo = chave + ":";
+        for (String linha : linhas) {
+            if (linha.startsWith(prefixo)) {
+                return linha.substring(prefixo.length()).strip();
+            }
+        }
+        return null;
+    }
+}
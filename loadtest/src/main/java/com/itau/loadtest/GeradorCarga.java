@@ -0,0 +1,269 @@
+package com.itau.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gerador de carga em modelo aberto: as chegadas seguem um processo de Poisson (ou intervalo
+ * constante) na taxa configurada, independente do tempo de resposta da API. Cada chegada sorteia
+ * uma operação pelo mix de pesos e uma conta pela distribuição de Zipf.
+ * <p>
+ * Chegadas que encontram {@code max-em-voo} requisições pendentes esperam em fila e são enviadas, na
+ * ordem de chegada, assim que uma vaga é liberada. Como toda latência é medida a partir da chegada
+ * prevista, a espera na fila e o tempo de serviço entram juntos no histograma, como no wrk2.
+ */
+public final class GeradorCarga {
+
+    static final String PREFIXO_CONTA = "lt-";
+
+    private static final int PREPARACAO_CONCORRENCIA = 256;
+    private static final long ESPERA_ATIVA_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final Duration ESPERA_FINAL = Duration.ofMinutes(1);
+
+    private final LoadTestConfig config;
+    private final String token;
+    private final HttpClient cliente;
+    private final Envio envio;
+    private final ZipfGenerator zipf;
+    private final List<Operacao> operacoes = new ArrayList<>();
+    private final int[] pesosAcumulados;
+    private final Map<String, ResultadoOperacao> resultados = new LinkedHashMap<>();
+    private final Semaphore emVoo;
+    private final Queue<Chegada> fila = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Envia a requisição de uma chegada.
+     */
+    @FunctionalInterface
+    interface Envio {
+
+        /**
+         * @return O código de status da resposta.
+         */
+        CompletableFuture<Integer> enviar(Operacao operacao, String conta);
+    }
+
+    public GeradorCarga(LoadTestConfig config, Map<String, Operacao> colecao, String token) {
+        this(config, colecao, token, HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build());
+    }
+
+    private GeradorCarga(LoadTestConfig config, Map<String, Operacao> colecao, String token, HttpClient cliente) {
+        this(config, colecao, token, cliente, (operacao, conta) -> cliente
+                .sendAsync(operacao.requisicao(config.alvo(), conta, token), HttpResponse.BodyHandlers.discarding())
+                .thenApply(HttpResponse::statusCode));
+    }
+
+    GeradorCarga(LoadTestConfig config, Map<String, Operacao> colecao, Envio envio) {
+        this(config, colecao, null, null, envio);
+    }
+
+    private GeradorCarga(LoadTestConfig config, Map<String, Operacao> colecao, String token, HttpClient cliente,
+            Envio envio) {
+        this.config = config;
+        this.token = token;
+        this.cliente = cliente;
+        this.envio = envio;
+        this.zipf = new ZipfGenerator(config.contas(), config.zipf());
+        this.emVoo = new Semaphore(config.maxEmVoo());
+
+        List<Integer> pesos = new ArrayList<>();
+        config.mix().forEach((nome, peso) -> {
+            Operacao operacao = colecao.get(nome);
+            if (operacao == null) {
+                throw new IllegalArgumentException("Requisição não encontrada na collection: " + nome
+                        + ". Disponíveis: " + colecao.keySet());
+            }
+            if (peso > 0) {
+                operacoes.add(operacao);
+                pesos.add(peso);
+                resultados.put(nome, new ResultadoOperacao());
+            }
+        });
+        if (operacoes.isEmpty()) {
+            throw new IllegalArgumentException("O mix deve ter ao menos uma operação com peso positivo.");
+        }
+
+        this.pesosAcumulados = new int[pesos.size()];
+        int soma = 0;
+        for (int i = 0; i < pesos.size(); i++) {
+            soma += pesos.get(i);
+            pesosAcumulados[i] = soma;
+        }
+    }
+
+    /**
+     * Cria os contratos de todas as contas usadas na carga. Contratos já existentes são mantidos.
+     *
+     * @return A quantidade de respostas por código de status.
+     */
+    public Map<Integer, Long> preparar() throws InterruptedException {
+        ResultadoOperacao preparacao = new ResultadoOperacao();
+        Semaphore concorrencia = new Semaphore(PREPARACAO_CONCORRENCIA);
+        for (int i = 0; i < config.contas(); i++) {
+            String corpo = "{\"accountId\": \"" + PREFIXO_CONTA + i + "\", \"valorLimite\": " + config.limiteInicial() + "}";
+            HttpRequest requisicao = HttpRequest.newBuilder()
+                    .uri(config.alvo().resolve("/api/v1/contratos"))
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                    .build();
+
+            concorrencia.acquire();
+            cliente.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((resposta, erro) -> {
+                        concorrencia.release();
+                        if (erro != null) {
+                            preparacao.registrarErro(0);
+                        } else {
+                            preparacao.registrar(resposta.statusCode(), 0);
+                        }
+                    });
+        }
+        concorrencia.acquire(PREPARACAO_CONCORRENCIA);
+        return preparacao.status();
+    }
+
+    /**
+     * Executa o aquecimento seguido da medição.
+     *
+     * @return Os resultados da medição por operação.
+     */
+    public Map<String, ResultadoOperacao> executar() throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(config.semente());
+        double intervaloNanos = TimeUnit.SECONDS.toNanos(1) / config.taxa();
+        boolean poisson = "poisson".equals(config.chegadas());
+
+        long inicio = System.nanoTime();
+        long inicioMedicao = inicio + config.aquecimento().toNanos();
+        long fim = inicioMedicao + config.duracao().toNanos();
+
+        double previsto = inicio;
+        while (previsto < fim) {
+            long instante = (long) previsto;
+            esperarAte(instante);
+
+            int indice = sortearOperacao(random);
+            String conta = PREFIXO_CONTA + zipf.proximo(random);
+            disparar(operacoes.get(indice), conta, instante, instante >= inicioMedicao);
+
+            previsto += poisson ? -Math.log(1.0 - random.nextDouble()) * intervaloNanos : intervaloNanos;
+        }
+
+        aguardarConclusao();
+        return resultados;
+    }
+
+    /**
+     * Envia a chegada se houver vaga e nenhuma chegada anterior esperando; caso contrário, ela entra na
+     * fila e será enviada quando uma vaga for liberada.
+     *
+     * @param previsto O instante de chegada previsto, em {@link System#nanoTime()}, a partir do qual a latência é medida.
+     * @param medir Se a chegada pertence à medição, e não ao aquecimento.
+     */
+    void disparar(Operacao operacao, String conta, long previsto, boolean medir) {
+        Chegada chegada = new Chegada(operacao, conta, previsto, medir);
+        if (fila.isEmpty() && emVoo.tryAcquire()) {
+            enviar(chegada);
+            return;
+        }
+        if (medir) {
+            resultados.get(operacao.nome()).registrarEnfileirada();
+        }
+        fila.add(chegada);
+        // Uma vaga liberada entre a tentativa acima e a inclusão na fila é aproveitada aqui
+        drenarFila();
+    }
+
+    private void drenarFila() {
+        while (!fila.isEmpty() && emVoo.tryAcquire()) {
+            Chegada chegada = fila.poll();
+            if (chegada == null) {
+                emVoo.release();
+                return;
+            }
+            enviar(chegada);
+        }
+    }
+
+    private void enviar(Chegada chegada) {
+        CompletableFuture<Integer> resposta;
+        try {
+            resposta = envio.enviar(chegada.operacao(), chegada.conta());
+        } catch (RuntimeException ex) {
+            resposta = CompletableFuture.failedFuture(ex);
+        }
+
+        resposta.whenComplete((status, erro) -> {
+            long latencia = System.nanoTime() - chegada.previsto();
+            emVoo.release();
+            drenarFila();
+            if (!chegada.medir()) {
+                return;
+            }
+            ResultadoOperacao resultado = resultados.get(chegada.operacao().nome());
+            if (erro != null) {
+                resultado.registrarErro(latencia);
+            } else {
+                resultado.registrar(status, latencia);
+            }
+        });
+    }
+
+    /**
+     * Espera a fila esvaziar e todas as requisições em voo terminarem.
+     */
+    private void aguardarConclusao() throws InterruptedException {
+        long limite = System.nanoTime() + ESPERA_FINAL.toNanos();
+        while (emVoo.tryAcquire(config.maxEmVoo(), Math.max(0, limite - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+            // Todas as vagas livres com a fila não vazia só ocorre entre uma liberação e a drenagem seguinte
+            if (fila.isEmpty()) {
+                return;
+            }
+            emVoo.release(config.maxEmVoo());
+            drenarFila();
+        }
+        System.err.println(fila.size() + " chegadas na fila e requisições ainda em voo após 1 minuto;"
+                + " os resultados podem estar incompletos.");
+    }
+
+    private int sortearOperacao(SplittableRandom random) {
+        int sorteio = random.nextInt(pesosAcumulados[pesosAcumulados.length - 1]);
+        for (int i = 0; i < pesosAcumulados.length; i++) {
+            if (sorteio < pesosAcumulados[i]) {
+                return i;
+            }
+        }
+        return pesosAcumulados.length - 1;
+    }
+
+    private record Chegada(Operacao operacao, String conta, long previsto, boolean medir) {
+    }
+
+    private static void esperarAte(long instante) {
+        long restante;
+        while ((restante = instante - System.nanoTime()) > 0) {
+            if (restante > ESPERA_ATIVA_NANOS) {
+                LockSupport.parkNanos(restante - ESPERA_ATIVA_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.itau.loadtest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Emissor JWT local que substitui o Keycloak durante os testes de carga.
+ * <p>
+ * Publica o documento de descoberta OIDC e o JWKS em {@code http://localhost:{porta}/realms/desafio-itau}
+ * e assina tokens RS256 com uma chave gerada a cada execução. Para usá-lo, a API deve ser iniciada com
+ * {@code --spring.security.oauth2.resourceserver.jwt.issuer-uri} apontando para {@link #issuer()}.
+ */
+public final class JwtIssuerStub implements AutoCloseable {
+
+    private static final String REALM = "/realms/desafio-itau";
+    private static final String KID = "loadtest";
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final KeyPair chaves;
+    private final HttpServer servidor;
+    private final String issuer;
+
+    public JwtIssuerStub(int porta) throws IOException, GeneralSecurityException {
+        KeyPairGenerator gerador = KeyPairGenerator.getInstance("RSA");
+        gerador.initialize(2048);
+        this.chaves = gerador.generateKeyPair();
+        this.issuer = "http://localhost:" + porta + REALM;
+
+        byte[] descoberta = mapper.writeValueAsBytes(Map.of(
+                "issuer", issuer,
+                "jwks_uri", issuer + "/protocol/openid-connect/certs",
+                "token_endpoint", issuer + "/protocol/openid-connect/token",
+                "id_token_signing_alg_values_supported", List.of("RS256"),
+                "subject_types_supported", List.of("public")));
+        byte[] jwks = mapper.writeValueAsBytes(Map.of("keys", List.of(jwk())));
+
+        this.servidor = HttpServer.create(new InetSocketAddress("localhost", porta), 0);
+        servidor.createContext(REALM + "/.well-known/openid-configuration", troca -> responder(troca, descoberta));
+        servidor.createContext(REALM + "/protocol/openid-connect/certs", troca -> responder(troca, jwks));
+        servidor.start();
+    }
+
+    public String issuer() {
+        return issuer;
+    }
+
+    /**
+     * Emite um token de client credentials equivalente ao do client {@code api-contratos}.
+     *
+     * @param validade O tempo de validade do token.
+     * @return O JWT assinado.
+     */
+    public String emitirToken(Duration validade) throws IOException, GeneralSecurityException {
+        Instant agora = Instant.now();
+        String cabecalho = codificar(mapper.writeValueAsBytes(Map.of("alg", "RS256", "typ", "JWT", "kid", KID)));
+        String claims = codificar(mapper.writeValueAsBytes(Map.of(
+                "iss", issuer,
+                "sub", "api-loadtest",
+                "azp", "api-contratos",
+                "iat", agora.getEpochSecond(),
+                "exp", agora.plus(validade).getEpochSecond())));
+
+        String conteudo = cabecalho + "." + claims;
+        Signature assinatura = Signature.getInstance("SHA256withRSA");
+        assinatura.initSign(chaves.getPrivate());
+        assinatura.update(conteudo.getBytes(StandardCharsets.US_ASCII));
+        return conteudo + "." + codificar(assinatura.sign());
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(0);
+    }
+
+    private Map<String, String> jwk() {
+        RSAPublicKey publica = (RSAPublicKey) chaves.getPublic();
+        return Map.of(
+                "kty", "RSA",
+                "use", "sig",
+                "alg", "RS256",
+                "kid", KID,
+                "n", codificar(semSinal(publica.getModulus())),
+                "e", codificar(semSinal(publica.getPublicExponent())));
+    }
+
+    private static byte[] semSinal(BigInteger valor) {
+        byte[] bytes = valor.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            byte[] semZero = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, semZero, 0, semZero.length);
+            return semZero;
+        }
+        return bytes;
+    }
+
+    private static String codificar(byte[] bytes) {
+        return BASE64_URL.encodeToString(bytes);
+    }
+
+    private static void responder(HttpExchange troca, byte[] corpo) throws IOException {
+        troca.getResponseHeaders().add("Content-Type", "application/json");
+        troca.sendResponseHeaders(200, corpo.length);
+        try (OutputStream saida = troca.getResponseBody()) {
+            saida.write(corpo);
+        }
+    }
+}
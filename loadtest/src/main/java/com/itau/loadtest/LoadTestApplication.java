@@ -0,0 +1,58 @@
+package com.itau.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Ponto de entrada do gerador de carga.
+ * <p>
+ * Fluxo: carrega as requisições da collection do Bruno, inicia o emissor JWT local (ou usa
+ * {@code --token}), cria os contratos das contas de teste, executa aquecimento e medição em
+ * modelo aberto e grava os relatórios em {@code --saida}.
+ */
+public final class LoadTestApplication {
+
+    private LoadTestApplication() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.deArgumentos(args);
+        Map<String, Operacao> colecao = BrunoCollection.carregar(config.colecao());
+
+        JwtIssuerStub emissor = null;
+        try {
+            String token = config.token();
+            if (token == null) {
+                emissor = new JwtIssuerStub(config.portaEmissor());
+                Duration validade = config.aquecimento().plus(config.duracao()).plusHours(1);
+                token = emissor.emitirToken(validade);
+                System.out.println("Emissor JWT local em " + emissor.issuer()
+                        + " (inicie a API com --spring.security.oauth2.resourceserver.jwt.issuer-uri=" + emissor.issuer() + ")");
+            }
+
+            GeradorCarga gerador = new GeradorCarga(config, colecao, token);
+
+            System.out.println("Preparando " + config.contas() + " contas...");
+            System.out.println("Preparação concluída: " + gerador.preparar());
+
+            System.out.printf("Executando %.0f req/s (%s) por %s, após %s de aquecimento...%n",
+                    config.taxa(), config.chegadas(), config.duracao(), config.aquecimento());
+            Instant inicio = Instant.now();
+            Map<String, ResultadoOperacao> resultados = gerador.executar();
+
+            long enfileiradas = resultados.values().stream().mapToLong(ResultadoOperacao::enfileiradas).sum();
+            if (enfileiradas > 0) {
+                System.err.println(enfileiradas + " chegadas esperaram vaga em max-em-voo; a API não sustentou a taxa alvo.");
+            }
+            Path relatorio = Relatorio.gravar(config, inicio, resultados);
+            System.out.println("Relatórios gravados em " + relatorio.toAbsolutePath());
+        } finally {
+            if (emissor != null) {
+                emissor.close();
+            }
+        }
+        System.exit(0);
+    }
+}
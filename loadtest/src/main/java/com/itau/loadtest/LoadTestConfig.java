@@ -0,0 +1,106 @@
+package com.itau.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parâmetros de uma execução do gerador de carga, lidos de argumentos {@code --chave=valor}.
+ *
+ * @param alvo URL base da instância sob teste (ex: {@code http://localhost:8080}).
+ * @param colecao Diretório da collection do Bruno usada como fonte dos formatos de requisição.
+ * @param taxa Taxa de chegada alvo, em requisições por segundo.
+ * @param chegadas Processo de chegada: {@code poisson} ou {@code constante}.
+ * @param aquecimento Duração do aquecimento, cujas medições são descartadas.
+ * @param duracao Duração da medição.
+ * @param contas Quantidade de contas criadas e usadas pela carga.
+ * @param zipf Expoente da distribuição de Zipf das contas; {@code 0} distribui uniformemente.
+ * @param limiteInicial Valor de limite das contas criadas na preparação.
+ * @param mix Peso de cada requisição da collection, pelo nome do {@code meta.name}.
+ * @param maxEmVoo Máximo de requisições simultâneas; as chegadas excedentes esperam vaga em fila.
+ * @param portaEmissor Porta do emissor JWT local; {@code 0} desativa o emissor e exige {@code token}.
+ * @param token Token Bearer fixo, usado no lugar do emissor local.
+ * @param saida Diretório onde os relatórios são gravados.
+ * @param semente Semente dos geradores aleatórios, para execuções reproduzíveis.
+ */
+public record LoadTestConfig(
+        URI alvo,
+        Path colecao,
+        double taxa,
+        String chegadas,
+        Duration aquecimento,
+        Duration duracao,
+        int contas,
+        double zipf,
+        String limiteInicial,
+        Map<String, Integer> mix,
+        int maxEmVoo,
+        int portaEmissor,
+        String token,
+        Path saida,
+        long semente) {
+
+    static final String MIX_PADRAO = "consulta contrato=40,registra debito=25,registra credito=25,altera limite=10";
+
+    public static LoadTestConfig deArgumentos(String[] args) {
+        Map<String, String> valores = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Argumento inválido, use --chave=valor: " + arg);
+            }
+            int separador = arg.indexOf('=');
+            valores.put(arg.substring(2, separador), arg.substring(separador + 1));
+        }
+
+        LoadTestConfig config = new LoadTestConfig(
+                URI.create(valores.getOrDefault("alvo", "http://localhost:8080")),
+                Path.of(valores.getOrDefault("colecao", "bruno")),
+                Double.parseDouble(valores.getOrDefault("taxa", "200")),
+                valores.getOrDefault("chegadas", "poisson"),
+                Duration.parse(valores.getOrDefault("aquecimento", "PT10S")),
+                Duration.parse(valores.getOrDefault("duracao", "PT60S")),
+                Integer.parseInt(valores.getOrDefault("contas", "10000")),
+                Double.parseDouble(valores.getOrDefault("zipf", "1.1")),
+                valores.getOrDefault("limite-inicial", "1000000.00"),
+                lerMix(valores.getOrDefault("mix", MIX_PADRAO)),
+                Integer.parseInt(valores.getOrDefault("max-em-voo", "10000")),
+                Integer.parseInt(valores.getOrDefault("porta-emissor", "8090")),
+                valores.get("token"),
+                Path.of(valores.getOrDefault("saida", "loadtest-resultados")),
+                Long.parseLong(valores.getOrDefault("semente", "42")));
+        config.validar();
+        return config;
+    }
+
+    static Map<String, Integer> lerMix(String mix) {
+        Map<String, Integer> pesos = new LinkedHashMap<>();
+        for (String item : mix.split(",")) {
+            String[] partes = item.split("=");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Item de mix inválido, use nome=peso: " + item);
+            }
+            pesos.put(partes[0].trim(), Integer.parseInt(partes[1].trim()));
+        }
+        return pesos;
+    }
+
+    private void validar() {
+        if (taxa <= 0) {
+            throw new IllegalArgumentException("taxa deve ser positiva.");
+        }
+        if (!"poisson".equals(chegadas) && !"constante".equals(chegadas)) {
+            throw new IllegalArgumentException("chegadas deve ser poisson ou constante.");
+        }
+        if (contas <= 0) {
+            throw new IllegalArgumentException("contas deve ser positivo.");
+        }
+        if (zipf < 0) {
+            throw new IllegalArgumentException("zipf não pode ser negativo.");
+        }
+        if (portaEmissor == 0 && token == null) {
+            throw new IllegalArgumentException("informe --token quando o emissor local estiver desativado.");
+        }
+    }
+}
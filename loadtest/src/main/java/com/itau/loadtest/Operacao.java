@@ -0,0 +1,36 @@
+package com.itau.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+
+/**
+ * Formato de uma requisição da API extraído da collection do Bruno, com o accountId
+ * parametrizado pelo marcador {@value #MARCADOR_CONTA}.
+ *
+ * @param nome O {@code meta.name} da requisição na collection.
+ * @param metodo O método HTTP.
+ * @param caminho O caminho relativo a {@code /api/v1}, com o marcador da conta.
+ * @param corpo O corpo JSON com o marcador da conta, ou {@code null} se não houver corpo.
+ */
+public record Operacao(String nome, String metodo, String caminho, String corpo) {
+
+    public static final String MARCADOR_CONTA = "{accountId}";
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    public HttpRequest requisicao(URI alvo, String accountId, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(alvo.resolve("/api/v1" + caminho.replace(MARCADOR_CONTA, accountId)))
+                .timeout(TIMEOUT)
+                .header("Authorization", "Bearer " + token);
+
+        if (corpo == null) {
+            return builder.method(metodo, HttpRequest.BodyPublishers.noBody()).build();
+        }
+        return builder
+                .header("Content-Type", "application/json")
+                .method(metodo, HttpRequest.BodyPublishers.ofString(corpo.replace(MARCADOR_CONTA, accountId)))
+                .build();
+    }
+}
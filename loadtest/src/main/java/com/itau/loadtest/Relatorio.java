@@ -0,0 +1,126 @@
+package com.itau.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Grava os resultados de uma execução em formatos legíveis por máquina:
+ * <ul>
+ * <li>{@code relatorio.json}: configuração, vazão, status e percentis de latência por operação e total;</li>
+ * <li>{@code latencias.hlog}: histogramas HdrHistogram completos, um por operação, para comparação entre versões;</li>
+ * <li>{@code <operacao>.hgrm}: distribuição de percentis em milissegundos, para plotagem.</li>
+ * </ul>
+ */
+public final class Relatorio {
+
+    private static final double NANOS_POR_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private Relatorio() {
+    }
+
+    public static Path gravar(LoadTestConfig config, Instant inicio, Map<String, ResultadoOperacao> resultados)
+            throws IOException {
+        Path saida = config.saida().resolve(inicio.toString().replace(':', '-'));
+        Files.createDirectories(saida);
+
+        Map<String, Histogram> histogramas = new LinkedHashMap<>();
+        resultados.forEach((nome, resultado) -> histogramas.put(nome, resultado.snapshot()));
+
+        Histogram total = new Histogram(3);
+        histogramas.values().forEach(total::add);
+
+        Map<String, Object> operacoes = new LinkedHashMap<>();
+        long erros = 0;
+        long enfileiradas = 0;
+        Map<Integer, Long> statusTotal = new LinkedHashMap<>();
+        for (Map.Entry<String, ResultadoOperacao> entrada : resultados.entrySet()) {
+            ResultadoOperacao resultado = entrada.getValue();
+            operacoes.put(entrada.getKey(), resumo(config, histogramas.get(entrada.getKey()),
+                    resultado.status(), resultado.erros(), resultado.enfileiradas()));
+            erros += resultado.erros();
+            enfileiradas += resultado.enfileiradas();
+            resultado.status().forEach((codigo, quantidade) -> statusTotal.merge(codigo, quantidade, Long::sum));
+        }
+
+        Map<String, Object> relatorio = new LinkedHashMap<>();
+        relatorio.put("inicio", inicio.toString());
+        relatorio.put("alvo", config.alvo().toString());
+        Map<String, Object> configuracao = new LinkedHashMap<>();
+        configuracao.put("taxaAlvo", config.taxa());
+        configuracao.put("chegadas", config.chegadas());
+        configuracao.put("aquecimentoSegundos", config.aquecimento().toSeconds());
+        configuracao.put("duracaoSegundos", config.duracao().toSeconds());
+        configuracao.put("contas", config.contas());
+        configuracao.put("zipf", config.zipf());
+        configuracao.put("mix", config.mix());
+        configuracao.put("semente", config.semente());
+        relatorio.put("configuracao", configuracao);
+        relatorio.put("total", resumo(config, total, statusTotal, erros, enfileiradas));
+        relatorio.put("operacoes", operacoes);
+
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(saida.resolve("relatorio.json").toFile(), relatorio);
+
+        try (PrintStream log = new PrintStream(Files.newOutputStream(saida.resolve("latencias.hlog")))) {
+            HistogramLogWriter writer = new HistogramLogWriter(log);
+            writer.outputComment("Latências em nanossegundos por operação, medidas a partir do instante de chegada previsto.");
+            writer.outputLogFormatVersion();
+            writer.outputStartTime(inicio.toEpochMilli());
+            writer.outputLegend();
+            histogramas.forEach((nome, histograma) -> {
+                histograma.setTag(nomeArquivo(nome));
+                writer.outputIntervalHistogram(histograma);
+            });
+        }
+
+        for (Map.Entry<String, Histogram> entrada : histogramas.entrySet()) {
+            try (PrintStream hgrm = new PrintStream(Files.newOutputStream(saida.resolve(nomeArquivo(entrada.getKey()) + ".hgrm")))) {
+                entrada.getValue().outputPercentileDistribution(hgrm, NANOS_POR_MILLI);
+            }
+        }
+        return saida;
+    }
+
+    private static Map<String, Object> resumo(LoadTestConfig config, Histogram histograma,
+            Map<Integer, Long> status, long erros, long enfileiradas) {
+        Map<String, Object> latencia = new LinkedHashMap<>();
+        latencia.put("min", millis(histograma.getMinValue()));
+        latencia.put("media", histograma.getMean() / NANOS_POR_MILLI);
+        latencia.put("p50", millis(histograma.getValueAtPercentile(50)));
+        latencia.put("p90", millis(histograma.getValueAtPercentile(90)));
+        latencia.put("p99", millis(histograma.getValueAtPercentile(99)));
+        latencia.put("p999", millis(histograma.getValueAtPercentile(99.9)));
+        latencia.put("p9999", millis(histograma.getValueAtPercentile(99.99)));
+        latencia.put("max", millis(histograma.getMaxValue()));
+
+        Map<String, Object> resumo = new LinkedHashMap<>();
+        long enviadas = histograma.getTotalCount();
+        resumo.put("respostas", enviadas - erros);
+        resumo.put("vazaoPorSegundo", enviadas / (config.duracao().toNanos() / 1e9));
+        resumo.put("status", status);
+        resumo.put("erros", erros);
+        resumo.put("enfileiradas", enfileiradas);
+        resumo.put("latenciaMs", latencia);
+        return resumo;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / NANOS_POR_MILLI;
+    }
+
+    private static String nomeArquivo(String operacao) {
+        return operacao.replaceAll("[^A-Za-z0-9]+", "-");
+    }
+}
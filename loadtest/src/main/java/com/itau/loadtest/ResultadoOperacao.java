@@ -0,0 +1,68 @@
+package com.itau.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Medições de uma operação. A latência registrada é contada a partir do instante em que a
+ * requisição deveria ter sido enviada segundo o processo de chegada, e não do envio efetivo,
+ * de forma que atrasos do próprio gerador ou da API não escondam filas (coordinated omission).
+ */
+public final class ResultadoOperacao {
+
+    private static final long LATENCIA_MAXIMA_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final Recorder recorder = new Recorder(LATENCIA_MAXIMA_NANOS, 3);
+    private final Map<Integer, LongAdder> status = new ConcurrentHashMap<>();
+    private final LongAdder erros = new LongAdder();
+    private final LongAdder enfileiradas = new LongAdder();
+
+    public void registrar(int codigoStatus, long latenciaNanos) {
+        status.computeIfAbsent(codigoStatus, codigo -> new LongAdder()).increment();
+        gravarLatencia(latenciaNanos);
+    }
+
+    public void registrarErro(long latenciaNanos) {
+        erros.increment();
+        gravarLatencia(latenciaNanos);
+    }
+
+    /**
+     * Registra uma chegada que esperou vaga por excesso de requisições em voo. A latência dela é
+     * registrada na resposta, contada a partir da chegada prevista, e inclui a espera.
+     */
+    public void registrarEnfileirada() {
+        enfileiradas.increment();
+    }
+
+    /**
+     * @return Um snapshot das latências registradas desde o último snapshot.
+     */
+    public Histogram snapshot() {
+        return recorder.getIntervalHistogram();
+    }
+
+    public Map<Integer, Long> status() {
+        Map<Integer, Long> copia = new TreeMap<>();
+        status.forEach((codigo, total) -> copia.put(codigo, total.sum()));
+        return copia;
+    }
+
+    public long erros() {
+        return erros.sum();
+    }
+
+    public long enfileiradas() {
+        return enfileiradas.sum();
+    }
+
+    private void gravarLatencia(long latenciaNanos) {
+        recorder.recordValue(Math.min(latenciaNanos, LATENCIA_MAXIMA_NANOS));
+    }
+}
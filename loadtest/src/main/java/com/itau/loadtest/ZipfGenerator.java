@@ -0,0 +1,37 @@
+package com.itau.loadtest;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Sorteia índices em {@code [0, n)} segundo uma distribuição de Zipf com expoente {@code s}:
+ * o índice {@code k} tem probabilidade proporcional a {@code 1 / (k + 1)^s}. Com {@code s = 0}
+ * a distribuição é uniforme; valores maiores concentram a carga em poucas contas quentes.
+ * <p>
+ * A distribuição acumulada é pré-calculada, e cada sorteio custa uma busca binária.
+ */
+public final class ZipfGenerator {
+
+    private final double[] acumulada;
+
+    public ZipfGenerator(int n, double s) {
+        if (n <= 0 || s < 0) {
+            throw new IllegalArgumentException("n deve ser positivo e s não pode ser negativo.");
+        }
+        acumulada = new double[n];
+        double soma = 0;
+        for (int k = 0; k < n; k++) {
+            soma += 1.0 / Math.pow(k + 1, s);
+            acumulada[k] = soma;
+        }
+        for (int k = 0; k < n; k++) {
+            acumulada[k] /= soma;
+        }
+    }
+
+    public int proximo(RandomGenerator random) {
+        int indice = Arrays.binarySearch(acumulada, random.nextDouble());
+        int posicao = indice >= 0 ? indice : -indice - 1;
+        return Math.min(posicao, acumulada.length - 1);
+    }
+}
@@ -0,0 +1,109 @@
+package com.itau.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BrunoCollectionTest {
+
+    private static final String DEBITO = """
+            meta {
+              name: registra debito
+              type: http
+              seq: 4
+            }
+
+            post {
+              url: {{base_URL}}/contratos/1234567/debito
+              body: json
+              auth: bearer
+            }
+
+            body:json {
+              {
+              "valor": 500.00
+              }
+            }
+            """;
+
+    private static final String CRIACAO = """
+            meta {
+              name: cria contrato
+            }
+
+            post {
+              url: {{base_URL}}/contratos
+              body: json
+            }
+
+            body:json {
+              {
+              "accountId": "1234567",
+              "valorLimite": 1000
+              }
+            }
+            """;
+
+    private static final String TOKEN = """
+            meta {
+              name: pegar token
+            }
+
+            post {
+              url: {{base_URL_keycloak}}/realms/desafio-itau/protocol/openid-connect/token
+              body: formUrlEncoded
+            }
+            """;
+
+    @Test
+    @DisplayName("Deve extrair método, caminho parametrizado e corpo da requisição")
+    void interpretar_RequestWithAccountInPath() {
+        // Act
+        Operacao operacao = BrunoCollection.interpretar(DEBITO);
+
+        // Assert
+        assertThat(operacao.nome()).isEqualTo("registra debito");
+        assertThat(operacao.metodo()).isEqualTo("POST");
+        assertThat(operacao.caminho()).isEqualTo("/contratos/{accountId}/debito");
+        assertThat(operacao.corpo()).contains("\"valor\": 500.00");
+    }
+
+    @Test
+    @DisplayName("Deve parametrizar o accountId do corpo")
+    void interpretar_RequestWithAccountInBody() {
+        // Act
+        Operacao operacao = BrunoCollection.interpretar(CRIACAO);
+        HttpRequest requisicao = operacao.requisicao(URI.create("http://localhost:8080"), "lt-7", "abc");
+
+        // Assert
+        assertThat(operacao.caminho()).isEqualTo("/contratos");
+        assertThat(operacao.corpo()).contains("\"accountId\": \"{accountId}\"");
+        assertThat(requisicao.uri()).isEqualTo(URI.create("http://localhost:8080/api/v1/contratos"));
+        assertThat(requisicao.headers().firstValue("Authorization")).contains("Bearer abc");
+    }
+
+    @Test
+    @DisplayName("Deve ignorar requisições que não são da API")
+    void interpretar_NonApiRequest_ReturnsNull() {
+        assertThat(BrunoCollection.interpretar(TOKEN)).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve carregar as requisições da collection do projeto")
+    void carregar_ProjectCollection() throws Exception {
+        // Act
+        Map<String, Operacao> operacoes = BrunoCollection.carregar(Path.of("..", "bruno"));
+
+        // Assert
+        assertThat(operacoes).containsKeys(LoadTestConfig.lerMix(LoadTestConfig.MIX_PADRAO).keySet().toArray(String[]::new));
+        assertThat(operacoes).doesNotContainKey("pegar token");
+        assertThat(operacoes.get("consulta contrato").caminho()).isEqualTo("/contratos/{accountId}");
+        assertThat(operacoes.get("consulta contrato").corpo()).isNull();
+    }
+}
@@ -0,0 +1,139 @@
+package com.itau.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class GeradorCargaTest {
+
+    private static final Operacao CONSULTA = new Operacao("consulta", "GET", "/contratos/{accountId}", null);
+    private static final long ATRASO_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final List<String> enviadas = new ArrayList<>();
+    private final List<CompletableFuture<Integer>> respostas = new ArrayList<>();
+
+    @Test
+    @DisplayName("Deve enviar a chegada enfileirada quando uma vaga for liberada e medir desde a chegada prevista")
+    void disparar_SaturatedSlots_SendsQueuedArrivalWhenSlotFrees() throws InterruptedException {
+        // Arrange
+        GeradorCarga gerador = gerador(1, Duration.ZERO, Duration.ZERO);
+        long previsto = System.nanoTime() - ATRASO_NANOS;
+
+        // Act
+        gerador.disparar(CONSULTA, "lt-1", previsto, true);
+        gerador.disparar(CONSULTA, "lt-2", previsto, true);
+        List<String> antesDaVaga = List.copyOf(enviadas);
+        respostas.get(0).complete(200);
+        List<String> depoisDaVaga = List.copyOf(enviadas);
+        respostas.get(1).complete(201);
+        ResultadoOperacao resultado = gerador.executar().get("consulta");
+
+        // Assert
+        assertThat(antesDaVaga).containsExactly("lt-1");
+        assertThat(depoisDaVaga).containsExactly("lt-1", "lt-2");
+        Histogram histograma = resultado.snapshot();
+        assertThat(histograma.getTotalCount()).isEqualTo(2);
+        assertThat(histograma.getMinValue()).isGreaterThanOrEqualTo(histograma.lowestEquivalentValue(ATRASO_NANOS));
+        assertThat(resultado.status()).containsOnly(Map.entry(200, 1L), Map.entry(201, 1L));
+        assertThat(resultado.enfileiradas()).isEqualTo(1);
+        assertThat(resultado.erros()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve enviar as chegadas enfileiradas na ordem de chegada")
+    void disparar_SeveralQueued_SendsInArrivalOrder() {
+        // Arrange
+        GeradorCarga gerador = gerador(1, Duration.ZERO, Duration.ZERO);
+        long previsto = System.nanoTime();
+
+        // Act
+        for (int i = 1; i <= 4; i++) {
+            gerador.disparar(CONSULTA, "lt-" + i, previsto + i, true);
+        }
+        for (int i = 0; i < 4; i++) {
+            respostas.get(i).complete(200);
+        }
+
+        // Assert
+        assertThat(enviadas).containsExactly("lt-1", "lt-2", "lt-3", "lt-4");
+    }
+
+    @Test
+    @DisplayName("Deve contar falhas de envio como erro, liberar a vaga e ignorar chegadas do aquecimento")
+    void disparar_FailuresAndWarmUp_RecordsOnlyMeasuredErrors() throws InterruptedException {
+        // Arrange
+        List<String> contas = new ArrayList<>();
+        GeradorCarga gerador = new GeradorCarga(config(1, Duration.ZERO, Duration.ZERO), Map.of("consulta", CONSULTA),
+                (operacao, conta) -> {
+                    contas.add(conta);
+                    if (conta.equals("lt-2")) {
+                        throw new IllegalArgumentException("requisição inválida");
+                    }
+                    return CompletableFuture.failedFuture(new IOException("conexão recusada"));
+                });
+        long previsto = System.nanoTime();
+
+        // Act
+        gerador.disparar(CONSULTA, "lt-1", previsto, false);
+        gerador.disparar(CONSULTA, "lt-2", previsto, true);
+        gerador.disparar(CONSULTA, "lt-3", previsto, true);
+        ResultadoOperacao resultado = gerador.executar().get("consulta");
+
+        // Assert
+        assertThat(contas).containsExactly("lt-1", "lt-2", "lt-3");
+        assertThat(resultado.erros()).isEqualTo(2);
+        assertThat(resultado.status()).isEmpty();
+        assertThat(resultado.snapshot().getTotalCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve seguir o cronograma de chegadas e medir apenas as chegadas após o aquecimento")
+    void executar_ConstantArrivals_FollowsScheduleAndSkipsWarmUp() throws InterruptedException {
+        // Arrange
+        GeradorCarga gerador = new GeradorCarga(config(10, Duration.ofMillis(50), Duration.ofMillis(100)),
+                Map.of("consulta", CONSULTA), (operacao, conta) -> {
+                    synchronized (enviadas) {
+                        enviadas.add(conta);
+                    }
+                    return CompletableFuture.completedFuture(200);
+                });
+
+        // Act
+        ResultadoOperacao resultado = gerador.executar().get("consulta");
+
+        // Assert
+        assertThat(enviadas).hasSize(30).allMatch(conta -> conta.startsWith(GeradorCarga.PREFIXO_CONTA));
+        assertThat(resultado.status()).containsExactlyEntriesOf(Map.of(200, 20L));
+        assertThat(resultado.snapshot().getTotalCount()).isEqualTo(20);
+        assertThat(resultado.enfileiradas()).isZero();
+    }
+
+    private GeradorCarga gerador(int maxEmVoo, Duration aquecimento, Duration duracao) {
+        return new GeradorCarga(config(maxEmVoo, aquecimento, duracao), Map.of("consulta", CONSULTA), this::enviar);
+    }
+
+    private CompletableFuture<Integer> enviar(Operacao operacao, String conta) {
+        CompletableFuture<Integer> resposta = new CompletableFuture<>();
+        enviadas.add(conta);
+        respostas.add(resposta);
+        return resposta;
+    }
+
+    static LoadTestConfig config(int maxEmVoo, Duration aquecimento, Duration duracao) {
+        return new LoadTestConfig(URI.create("http://localhost:8080"), Path.of("bruno"), 200, "constante",
+                aquecimento, duracao, 10, 0, "1000.00", Map.of("consulta", 1), maxEmVoo, 0, "token",
+                Path.of("loadtest-resultados"), 42);
+    }
+}
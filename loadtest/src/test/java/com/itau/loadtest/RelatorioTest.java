@@ -0,0 +1,76 @@
+package com.itau.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class RelatorioTest {
+
+    private static final Instant INICIO = Instant.parse("2030-01-01T00:00:00Z");
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    @DisplayName("Deve gravar vazão, status, enfileiradas e percentis por operação e no total")
+    void gravar_WritesSummaryAndHistograms() throws IOException {
+        // Arrange
+        LoadTestConfig base = GeradorCargaTest.config(10, Duration.ZERO, Duration.ofSeconds(2));
+        LoadTestConfig config = new LoadTestConfig(base.alvo(), base.colecao(), base.taxa(), base.chegadas(),
+                base.aquecimento(), base.duracao(), base.contas(), base.zipf(), base.limiteInicial(), base.mix(),
+                base.maxEmVoo(), base.portaEmissor(), base.token(), diretorio, base.semente());
+        ResultadoOperacao consulta = new ResultadoOperacao();
+        consulta.registrar(200, millis(10));
+        consulta.registrar(200, millis(20));
+        consulta.registrar(404, millis(30));
+        consulta.registrarEnfileirada();
+        ResultadoOperacao debito = new ResultadoOperacao();
+        debito.registrar(201, millis(40));
+        debito.registrarErro(millis(1_000));
+        Map<String, ResultadoOperacao> resultados = new LinkedHashMap<>();
+        resultados.put("consulta contrato", consulta);
+        resultados.put("registra debito", debito);
+
+        // Act
+        Path saida = Relatorio.gravar(config, INICIO, resultados);
+
+        // Assert
+        JsonNode relatorio = new ObjectMapper().readTree(saida.resolve("relatorio.json").toFile());
+        JsonNode total = relatorio.get("total");
+        assertThat(total.get("respostas").asLong()).isEqualTo(4);
+        assertThat(total.get("erros").asLong()).isEqualTo(1);
+        assertThat(total.get("enfileiradas").asLong()).isEqualTo(1);
+        assertThat(total.get("vazaoPorSegundo").asDouble()).isEqualTo(2.5);
+        assertThat(total.get("status").get("200").asLong()).isEqualTo(2);
+        assertThat(total.get("latenciaMs").get("max").asDouble()).isBetween(999.0, 1_001.0);
+
+        JsonNode operacao = relatorio.get("operacoes").get("consulta contrato");
+        assertThat(operacao.get("respostas").asLong()).isEqualTo(3);
+        assertThat(operacao.get("enfileiradas").asLong()).isEqualTo(1);
+        assertThat(operacao.get("latenciaMs").get("p50").asDouble()).isBetween(19.9, 20.1);
+        assertThat(relatorio.get("configuracao").get("taxaAlvo").asDouble()).isEqualTo(200);
+
+        assertThat(saida.getFileName().toString()).isEqualTo("2030-01-01T00-00-00Z");
+        assertThat(Files.readString(saida.resolve("latencias.hlog"))).contains("consulta-contrato", "registra-debito");
+        assertThat(saida.resolve("consulta-contrato.hgrm")).isNotEmptyFile();
+        assertThat(saida.resolve("registra-debito.hgrm")).isNotEmptyFile();
+    }
+
+    private static long millis(long valor) {
+        return TimeUnit.MILLISECONDS.toNanos(valor);
+    }
+}
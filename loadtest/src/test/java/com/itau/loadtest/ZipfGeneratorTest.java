@@ -0,0 +1,59 @@
+package com.itau.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ZipfGeneratorTest {
+
+    private static final int AMOSTRAS = 200_000;
+
+    @Test
+    @DisplayName("Deve concentrar os sorteios nas primeiras contas")
+    void proximo_SkewedDistribution() {
+        // Arrange
+        ZipfGenerator zipf = new ZipfGenerator(1_000, 1.1);
+        SplittableRandom random = new SplittableRandom(7);
+        int[] contagem = new int[1_000];
+
+        // Act
+        for (int i = 0; i < AMOSTRAS; i++) {
+            contagem[zipf.proximo(random)]++;
+        }
+
+        // Assert
+        assertThat(contagem[0]).isGreaterThan(contagem[1]);
+        assertThat(contagem[1]).isGreaterThan(contagem[10]);
+        assertThat(contagem[0] / (double) AMOSTRAS).isGreaterThan(0.1);
+    }
+
+    @Test
+    @DisplayName("Deve distribuir uniformemente com expoente zero")
+    void proximo_UniformWhenExponentIsZero() {
+        // Arrange
+        ZipfGenerator zipf = new ZipfGenerator(10, 0);
+        SplittableRandom random = new SplittableRandom(7);
+        int[] contagem = new int[10];
+
+        // Act
+        for (int i = 0; i < AMOSTRAS; i++) {
+            contagem[zipf.proximo(random)]++;
+        }
+
+        // Assert
+        for (int total : contagem) {
+            assertThat(total / (double) AMOSTRAS).isBetween(0.09, 0.11);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar parâmetros inválidos")
+    void constructor_InvalidParameters_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new ZipfGenerator(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ZipfGenerator(10, -1));
+    }
+}
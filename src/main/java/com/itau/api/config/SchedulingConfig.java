@@ -0,0 +1,21 @@
+package com.itau.api.config;
+
+import java.time.Clock;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.itau.api.scheduler.AgendamentoLimiteProperties;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(AgendamentoLimiteProperties.class)
+public class SchedulingConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+}
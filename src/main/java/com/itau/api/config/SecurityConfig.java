@@ -17,6 +17,9 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(authorize -> authorize
                 .requestMatchers("/api/v1/contratos/**").authenticated()
+                .requestMatchers("/api/v1/admin/**").hasAuthority("SCOPE_shards.admin")
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").authenticated()
                 .anyRequest().permitAll()
 
             )
@@ -0,0 +1,73 @@
+package com.itau.api.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.itau.api.shard.RegistroTopologia;
+import com.itau.api.shard.ShardDataSources;
+import com.itau.api.shard.ShardRoutingDataSource;
+import com.itau.api.shard.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Com {@code sharding.enabled=true}, substitui o {@code spring.datasource} por um {@link ShardRoutingDataSource}
+ * sobre um pool por shard. O primeiro shard configurado é o padrão e guarda as tabelas não particionadas
+ * (como os agendamentos e o {@link RegistroTopologia}); a tabela de contratos é criada nos demais a partir
+ * de {@code db/shard-schema.sql}.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "sharding", name = "enabled", havingValue = "true")
+    public ShardDataSources shardDataSources(ShardingProperties properties) {
+        ResourceDatabasePopulator schema = new ResourceDatabasePopulator(new ClassPathResource("db/shard-schema.sql"));
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        for (ShardingProperties.Shard shard : properties.shards()) {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.url())
+                    .username(shard.username())
+                    .password(shard.password())
+                    .build();
+            dataSource.setPoolName("shard-" + shard.id());
+            DatabasePopulatorUtils.execute(schema, dataSource);
+            dataSources.put(shard.id(), dataSource);
+        }
+        ShardDataSources shardDataSources = new ShardDataSources(dataSources);
+        DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(new ClassPathResource("db/shard-topologia.sql")),
+                shardDataSources.dataSources().get(shardDataSources.shardPadrao()));
+        return shardDataSources;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "sharding", name = "enabled", havingValue = "true")
+    public RegistroTopologia registroTopologia(ShardDataSources shardDataSources) {
+        return new RegistroTopologia(shardDataSources.jdbc(shardDataSources.shardPadrao()));
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "sharding", name = "enabled", havingValue = "true")
+    public DataSource dataSource(ShardDataSources shardDataSources) {
+        ShardRoutingDataSource dataSource = new ShardRoutingDataSource();
+        dataSource.setTargetDataSources(new LinkedHashMap<>(shardDataSources.dataSources()));
+        dataSource.setDefaultTargetDataSource(shardDataSources.dataSources().get(shardDataSources.shardPadrao()));
+        dataSource.setLenientFallback(false);
+        dataSource.afterPropertiesSet();
+        return dataSource;
+    }
+}
@@ -0,0 +1,31 @@
+package com.itau.api.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.itau.api.converter.ContratoCborHttpMessageConverter;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    /**
+     * Registra o conversor CBOR dos contratos depois do conversor JSON, para que JSON
+     * continue sendo o formato padrão, mas antes do conversor CBOR genérico do Jackson,
+     * que de outra forma atenderia os DTOs de contrato via reflexão.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        int posicao = converters.size();
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2CborHttpMessageConverter) {
+                posicao = i;
+                break;
+            }
+        }
+        converters.add(posicao, new ContratoCborHttpMessageConverter());
+    }
+}
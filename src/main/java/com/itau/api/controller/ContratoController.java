@@ -14,10 +14,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.itau.api.dto.AgendarAlteracaoLimiteRequestDTO;
 import com.itau.api.dto.AlterarLimiteRequestDTO;
+import com.itau.api.dto.AlteracaoLimiteAgendadaResponseDTO;
 import com.itau.api.dto.ContratoRequestDTO;
 import com.itau.api.dto.ContratoResponseDTO;
 import com.itau.api.dto.MovimentacaoRequestDTO;
+import com.itau.api.service.AgendamentoLimiteService;
 import com.itau.api.service.ContratoService;
 
 import jakarta.validation.Valid;
@@ -29,6 +32,7 @@ import lombok.AllArgsConstructor;
 public class ContratoController {
 
     private final ContratoService contratoService;
+    private final AgendamentoLimiteService agendamentoLimiteService;
 
     /**
      * Endpoint para criar um novo contrato de limite.
@@ -61,11 +65,25 @@ public class ContratoController {
     @PutMapping("/{accountId}/limite")
     public ResponseEntity<ContratoResponseDTO> alterarLimite(
             @PathVariable String accountId,
-            @RequestBody AlterarLimiteRequestDTO request) {
+            @Valid @RequestBody AlterarLimiteRequestDTO request) {
         ContratoResponseDTO response = contratoService.alterarLimite(accountId, request.getValor());
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Endpoint para agendar a alteração do valor do limite de um contrato.
+     * @param accountId O ID da conta do contrato a ser alterado.
+     * @param request Corpo da requisição com o novo valor de limite e o instante de execução.
+     * @return ResponseEntity com status 202 (Accepted) e os dados do agendamento.
+     */
+    @PostMapping("/{accountId}/limite/agendamentos")
+    public ResponseEntity<AlteracaoLimiteAgendadaResponseDTO> agendarAlteracaoLimite(
+            @PathVariable String accountId,
+            @Valid @RequestBody AgendarAlteracaoLimiteRequestDTO request) {
+        AlteracaoLimiteAgendadaResponseDTO response = agendamentoLimiteService.agendarAlteracaoLimite(accountId, request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
     /**
      * Endpoint para cancelar um contrato de limite.
      * @param accountId O ID da conta do contrato a ser cancelado.
@@ -85,7 +103,7 @@ public class ContratoController {
     @PostMapping("/{accountId}/debito")
     public ResponseEntity<ContratoResponseDTO> registrarDebito(
             @PathVariable String accountId,
-            @RequestBody MovimentacaoRequestDTO request) {
+            @Valid @RequestBody MovimentacaoRequestDTO request) {
         ContratoResponseDTO response = contratoService.registrarDebito(accountId, request.getValor());
         return ResponseEntity.ok(response);
     }
@@ -99,7 +117,7 @@ public class ContratoController {
     @PostMapping("/{accountId}/credito")
     public ResponseEntity<ContratoResponseDTO> registrarCredito(
             @PathVariable String accountId,
-            @RequestBody MovimentacaoRequestDTO request) {
+            @Valid @RequestBody MovimentacaoRequestDTO request) {
         ContratoResponseDTO response = contratoService.registrarCredito(accountId, request.getValor());
         return ResponseEntity.ok(response);
     }
@@ -0,0 +1,97 @@
+package com.itau.api.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.itau.api.dto.MigracaoShardsRequestDTO;
+import com.itau.api.dto.RebalanceamentoResponseDTO;
+import com.itau.api.dto.StatusShardsResponseDTO;
+import com.itau.api.service.RebalanceamentoService;
+
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/admin/shards")
+@AllArgsConstructor
+public class ShardAdminController {
+
+    private final RebalanceamentoService rebalanceamentoService;
+
+    /**
+     * Endpoint para consultar a topologia de shards deste nó.
+     * @return ResponseEntity com status 200 (OK) e a fase, os anéis e os shards atendidos pelo nó.
+     */
+    @GetMapping
+    public ResponseEntity<StatusShardsResponseDTO> status() {
+        return ResponseEntity.ok(rebalanceamentoService.status());
+    }
+
+    /**
+     * Endpoint para iniciar um rebalanceamento neste nó, espelhando as gravações no novo anel.
+     * @param request Corpo da requisição com os shards do novo anel.
+     * @return ResponseEntity com status 200 (OK) e a topologia resultante.
+     */
+    @PostMapping("/migracao")
+    public ResponseEntity<StatusShardsResponseDTO> iniciarMigracao(@Valid @RequestBody MigracaoShardsRequestDTO request) {
+        return ResponseEntity.ok(rebalanceamentoService.iniciarMigracao(request.getShards()));
+    }
+
+    /**
+     * Endpoint para copiar para o novo dono os contratos que mudam de shard.
+     * @return ResponseEntity com status 200 (OK) e a quantidade de contratos copiados.
+     */
+    @PostMapping("/migracao/copia")
+    public ResponseEntity<RebalanceamentoResponseDTO> copiarContratos() {
+        return ResponseEntity.ok(rebalanceamentoService.copiarContratos());
+    }
+
+    /**
+     * Endpoint para recusar neste nó as operações sobre contas que mudam de shard.
+     * @return ResponseEntity com status 200 (OK) e a topologia resultante.
+     */
+    @PostMapping("/migracao/congelamento")
+    public ResponseEntity<StatusShardsResponseDTO> congelar() {
+        return ResponseEntity.ok(rebalanceamentoService.congelar());
+    }
+
+    /**
+     * Endpoint para copiar novamente do shard atual as contas congeladas, liberando o cutover.
+     * @return ResponseEntity com status 200 (OK) e a quantidade de contratos ressincronizados.
+     */
+    @PostMapping("/migracao/ressincronizacao")
+    public ResponseEntity<RebalanceamentoResponseDTO> ressincronizarContratos() {
+        return ResponseEntity.ok(rebalanceamentoService.ressincronizarContratos());
+    }
+
+    /**
+     * Endpoint para tornar o novo anel autoritativo neste nó.
+     * @return ResponseEntity com status 200 (OK) e a topologia resultante.
+     */
+    @PostMapping("/migracao/cutover")
+    public ResponseEntity<StatusShardsResponseDTO> concluirCutover() {
+        return ResponseEntity.ok(rebalanceamentoService.concluirCutover());
+    }
+
+    /**
+     * Endpoint para encerrar o espelhamento das gravações no anel anterior neste nó.
+     * @return ResponseEntity com status 200 (OK) e a topologia resultante.
+     */
+    @PostMapping("/migracao/finalizacao")
+    public ResponseEntity<StatusShardsResponseDTO> finalizarMigracao() {
+        return ResponseEntity.ok(rebalanceamentoService.finalizarMigracao());
+    }
+
+    /**
+     * Endpoint para remover os contratos que ficaram em shards que não são mais seus donos.
+     * @return ResponseEntity com status 200 (OK) e a quantidade de contratos removidos.
+     */
+    @PostMapping("/limpeza")
+    public ResponseEntity<RebalanceamentoResponseDTO> limparContratos() {
+        return ResponseEntity.ok(rebalanceamentoService.limparContratos());
+    }
+}
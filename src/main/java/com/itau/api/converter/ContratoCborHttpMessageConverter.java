@@ -0,0 +1,194 @@
+package com.itau.api.converter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.util.StreamUtils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.itau.api.dto.AgendarAlteracaoLimiteRequestDTO;
+import com.itau.api.dto.AlteracaoLimiteAgendadaResponseDTO;
+import com.itau.api.dto.AlterarLimiteRequestDTO;
+import com.itau.api.dto.ContratoRequestDTO;
+import com.itau.api.dto.ContratoResponseDTO;
+import com.itau.api.dto.MovimentacaoRequestDTO;
+
+/**
+ * Conversor binário (CBOR) para os DTOs de contrato.
+ * Os valores monetários trafegam como inteiros em centavos (escala 2) em vez de
+ * strings decimais, e a (de)serialização é escrita à mão sobre a API de streaming
+ * do Jackson, sem introspecção por reflexão. Instantes trafegam como strings ISO-8601,
+ * como no JSON.
+ */
+public class ContratoCborHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    /** Quantidade de casas decimais representadas pelos inteiros monetários. */
+    public static final int ESCALA_MONETARIA = 2;
+
+    private static final Set<Class<?>> TIPOS_LEITURA = Set.of(
+            ContratoRequestDTO.class,
+            MovimentacaoRequestDTO.class,
+            AlterarLimiteRequestDTO.class,
+            AgendarAlteracaoLimiteRequestDTO.class);
+
+    private static final Set<Class<?>> TIPOS_ESCRITA = Set.of(
+            ContratoResponseDTO.class,
+            AlteracaoLimiteAgendadaResponseDTO.class);
+
+    private final CBORFactory cborFactory = new CBORFactory();
+
+    public ContratoCborHttpMessageConverter() {
+        super(MediaType.APPLICATION_CBOR);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return TIPOS_LEITURA.contains(clazz) || TIPOS_ESCRITA.contains(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return TIPOS_LEITURA.contains(clazz) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return TIPOS_ESCRITA.contains(clazz) && canWrite(mediaType);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        String accountId = null;
+        BigDecimal valor = null;
+        BigDecimal valorLimite = null;
+        Instant executarEm = null;
+
+        try (JsonParser parser = cborFactory.createParser(inputMessage.getBody())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new HttpMessageNotReadableException("Corpo CBOR deve ser um mapa.", inputMessage);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String campo = parser.currentName();
+                JsonToken token = parser.nextToken();
+                switch (campo) {
+                    case "accountId" -> accountId = token == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+                    case "valor" -> valor = lerCentavos(parser, campo, inputMessage);
+                    case "valorLimite" -> valorLimite = lerCentavos(parser, campo, inputMessage);
+                    case "executarEm" -> executarEm = lerInstante(parser, campo, inputMessage);
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (JsonProcessingException ex) {
+            throw new HttpMessageNotReadableException("CBOR inválido: " + ex.getOriginalMessage(), ex, inputMessage);
+        }
+
+        if (ContratoRequestDTO.class == clazz) {
+            return new ContratoRequestDTO(accountId, valorLimite);
+        }
+        if (AlterarLimiteRequestDTO.class == clazz) {
+            return new AlterarLimiteRequestDTO(valor);
+        }
+        if (AgendarAlteracaoLimiteRequestDTO.class == clazz) {
+            return new AgendarAlteracaoLimiteRequestDTO(valor, executarEm);
+        }
+        return new MovimentacaoRequestDTO(valor);
+    }
+
+    @Override
+    protected void writeInternal(Object object, HttpOutputMessage outputMessage) throws IOException {
+        try (CBORGenerator generator = cborFactory.createGenerator(StreamUtils.nonClosing(outputMessage.getBody()))) {
+            if (object instanceof AlteracaoLimiteAgendadaResponseDTO agendamento) {
+                escreverAgendamento(generator, agendamento);
+            } else {
+                escreverContrato(generator, (ContratoResponseDTO) object);
+            }
+        }
+    }
+
+    private static void escreverContrato(CBORGenerator generator, ContratoResponseDTO contrato) throws IOException {
+        generator.writeStartObject(contrato, 4);
+        escreverTexto(generator, "accountId", contrato.getAccountId());
+        escreverCentavos(generator, "valorLimite", contrato.getValorLimite());
+        escreverCentavos(generator, "saldoDevedor", contrato.getSaldoDevedor());
+        escreverCentavos(generator, "limiteDisponivel", contrato.getLimiteDisponivel());
+        generator.writeEndObject();
+    }
+
+    private static void escreverAgendamento(CBORGenerator generator, AlteracaoLimiteAgendadaResponseDTO agendamento)
+            throws IOException {
+        generator.writeStartObject(agendamento, 6);
+        escreverTexto(generator, "id", agendamento.getId());
+        escreverTexto(generator, "accountId", agendamento.getAccountId());
+        escreverCentavos(generator, "valorLimite", agendamento.getValorLimite());
+        escreverTexto(generator, "executarEm", agendamento.getExecutarEm());
+        escreverTexto(generator, "status", agendamento.getStatus());
+        generator.writeFieldName("tentativas");
+        generator.writeNumber(agendamento.getTentativas());
+        generator.writeEndObject();
+    }
+
+    private static Instant lerInstante(JsonParser parser, String campo, HttpInputMessage inputMessage)
+            throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            throw new HttpMessageNotReadableException(
+                    "Campo " + campo + " deve ser um instante ISO-8601.", inputMessage);
+        }
+        try {
+            return Instant.parse(parser.getText());
+        } catch (DateTimeParseException ex) {
+            throw new HttpMessageNotReadableException(
+                    "Campo " + campo + " deve ser um instante ISO-8601.", ex, inputMessage);
+        }
+    }
+
+    private static void escreverTexto(CBORGenerator generator, String campo, Object valor) throws IOException {
+        generator.writeFieldName(campo);
+        if (valor == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(valor.toString());
+        }
+    }
+
+    private static BigDecimal lerCentavos(JsonParser parser, String campo, HttpInputMessage inputMessage)
+            throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (parser.currentToken() != JsonToken.VALUE_NUMBER_INT) {
+            throw new HttpMessageNotReadableException(
+                    "Campo " + campo + " deve ser um inteiro em centavos.", inputMessage);
+        }
+        return BigDecimal.valueOf(parser.getLongValue(), ESCALA_MONETARIA);
+    }
+
+    private static void escreverCentavos(CBORGenerator generator, String campo, BigDecimal valor) throws IOException {
+        generator.writeFieldName(campo);
+        if (valor == null) {
+            generator.writeNull();
+            return;
+        }
+        try {
+            generator.writeNumber(valor.movePointRight(ESCALA_MONETARIA).longValueExact());
+        } catch (ArithmeticException ex) {
+            throw new HttpMessageNotWritableException(
+                    "Campo " + campo + " não é representável em centavos: " + valor, ex);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.itau.api.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgendarAlteracaoLimiteRequestDTO {
+    @NotNull(message = "obrigatorio passar o valor.")
+    @Positive(message = "valor deve ser positivo")
+    @Digits(integer = 15, fraction = 2, message = "valor deve ter no maximo 2 casas decimais.")
+    private BigDecimal valor;
+
+    @NotNull(message = "obrigatorio passar executarEm.")
+    @FutureOrPresent(message = "executarEm nao pode estar no passado.")
+    private Instant executarEm;
+}
@@ -0,0 +1,27 @@
+package com.itau.api.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import com.itau.api.model.StatusAgendamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlteracaoLimiteAgendadaResponseDTO {
+    private UUID id;
+    private String accountId;
+    private BigDecimal valorLimite;
+    private Instant executarEm;
+    private StatusAgendamento status;
+    private int tentativas;
+}
@@ -2,6 +2,7 @@ package com.itau.api.dto;
 
 import java.math.BigDecimal;
 
+import jakarta.validation.constraints.Digits;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,5 +13,6 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 public class AlterarLimiteRequestDTO {
+    @Digits(integer = 15, fraction = 2, message = "valor deve ter no maximo 2 casas decimais.")
     private BigDecimal valor;
 }
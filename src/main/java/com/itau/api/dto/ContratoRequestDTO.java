@@ -2,6 +2,7 @@ package com.itau.api.dto;
 
 import java.math.BigDecimal;
 
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -20,5 +21,6 @@ public class ContratoRequestDTO {
 
     @NotNull(message = "obrigatorio passar o valorLimite.")
     @Positive(message = "valorLimite deve ser positivo")
+    @Digits(integer = 15, fraction = 2, message = "valorLimite deve ter no maximo 2 casas decimais.")
     private BigDecimal valorLimite;
 }
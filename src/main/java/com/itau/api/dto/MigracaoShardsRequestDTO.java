@@ -0,0 +1,19 @@
+package com.itau.api.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MigracaoShardsRequestDTO {
+
+    @NotEmpty(message = "obrigatorio passar os shards do novo anel.")
+    private List<String> shards;
+}
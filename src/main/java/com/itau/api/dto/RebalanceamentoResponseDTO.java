@@ -0,0 +1,19 @@
+package com.itau.api.dto;
+
+import com.itau.api.shard.FaseMigracao;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RebalanceamentoResponseDTO {
+    private FaseMigracao fase;
+    private long contratos;
+}
@@ -0,0 +1,25 @@
+package com.itau.api.dto;
+
+import java.util.List;
+
+import com.itau.api.shard.FaseMigracao;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusShardsResponseDTO {
+    private String nodeId;
+    private FaseMigracao fase;
+    private List<String> shards;
+    private List<String> shardsEspelho;
+    private List<String> shardsLocais;
+    private int contasDivergentes;
+}
@@ -0,0 +1,23 @@
+package com.itau.api.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Recusa da criação de um contrato para uma conta que já possui um (HTTP 400).
+ * Pré-alocada, imutável e sem pilha de chamadas, como {@link RegraNegocioException}.
+ */
+public class ContratoDuplicadoException extends RuntimeException {
+
+    public static final ContratoDuplicadoException INSTANCIA = new ContratoDuplicadoException();
+
+    private final transient CorpoErro corpo;
+
+    private ContratoDuplicadoException() {
+        super("Contrato já existente para este accountId.", null, false, false);
+        this.corpo = CorpoErro.de(HttpStatus.BAD_REQUEST, getMessage());
+    }
+
+    public CorpoErro getCorpo() {
+        return corpo;
+    }
+}
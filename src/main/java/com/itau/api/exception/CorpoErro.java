@@ -0,0 +1,123 @@
+package com.itau.api.exception;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+/**
+ * Corpo de erro JSON pré-serializado: {@code status}, {@code error} e {@code message} são codificados
+ * uma única vez e, a cada resposta, apenas o {@code timestamp} é escrito à frente. O formato é o mesmo
+ * produzido por {@link GlobalExceptionHandler} para os demais erros, sempre em JSON.
+ * <p>
+ * Um corpo {@linkplain #comIdentificador(HttpStatus, String) com identificador} deixa a mensagem aberta
+ * após o prefixo, e cada resposta escreve apenas o identificador escapado e o fechamento.
+ */
+public final class CorpoErro {
+
+    private static final byte[] PREFIXO = "{\"timestamp\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FECHAMENTO_MENSAGEM = "\"}".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] VAZIO = new byte[0];
+
+    private final HttpStatus status;
+    private final String message;
+    private final byte[] sufixo;
+    private final byte[] fechamento;
+
+    private CorpoErro(HttpStatus status, String message, boolean comIdentificador) {
+        this.status = status;
+        this.message = message;
+        String cabecalho = "\",\"status\":" + status.value()
+                + ",\"error\":\"" + escapar(status.getReasonPhrase())
+                + "\",\"message\":";
+        if (comIdentificador) {
+            this.sufixo = (cabecalho + "\"" + escapar(message)).getBytes(StandardCharsets.UTF_8);
+            this.fechamento = FECHAMENTO_MENSAGEM;
+        } else {
+            this.sufixo = (cabecalho + (message == null ? "null" : "\"" + escapar(message) + "\"")
+                    + "}").getBytes(StandardCharsets.UTF_8);
+            this.fechamento = VAZIO;
+        }
+    }
+
+    public static CorpoErro de(HttpStatus status, String message) {
+        return new CorpoErro(status, message, false);
+    }
+
+    /**
+     * @param prefixoMensagem O início da mensagem, completada a cada resposta com o identificador do recurso.
+     * @return Um corpo cuja mensagem termina com o identificador informado em {@link #resposta(String)}.
+     */
+    public static CorpoErro comIdentificador(HttpStatus status, String prefixoMensagem) {
+        return new CorpoErro(status, prefixoMensagem, true);
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * @return A resposta com o corpo de erro e o instante atual.
+     */
+    public ResponseEntity<byte[]> resposta() {
+        return resposta(ResponseEntity.status(status));
+    }
+
+    /**
+     * @param resposta A resposta a completar, com status e cabeçalhos adicionais.
+     * @return A resposta com o corpo de erro e o instante atual.
+     */
+    public ResponseEntity<byte[]> resposta(ResponseEntity.BodyBuilder resposta) {
+        return resposta.contentType(MediaType.APPLICATION_JSON)
+                .body(escrever(LocalDateTime.now()));
+    }
+
+    /**
+     * @param identificador O identificador que completa a mensagem de um corpo {@link #comIdentificador com identificador}.
+     * @return A resposta com o corpo de erro e o instante atual.
+     */
+    public ResponseEntity<byte[]> resposta(String identificador) {
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON)
+                .body(escrever(LocalDateTime.now(), identificador));
+    }
+
+    /**
+     * @return A mensagem completa com o identificador, para logs e {@link Throwable#getMessage()}.
+     */
+    public String mensagem(String identificador) {
+        return message + identificador;
+    }
+
+    byte[] escrever(LocalDateTime timestamp) {
+        return escrever(timestamp, VAZIO);
+    }
+
+    byte[] escrever(LocalDateTime timestamp, String identificador) {
+        return escrever(timestamp, JsonStringEncoder.getInstance().quoteAsUTF8(identificador));
+    }
+
+    private byte[] escrever(LocalDateTime timestamp, byte[] identificador) {
+        byte[] instante = DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(timestamp).getBytes(StandardCharsets.US_ASCII);
+        byte[] corpo = new byte[PREFIXO.length + instante.length + sufixo.length + identificador.length + fechamento.length];
+        int posicao = copiar(PREFIXO, corpo, 0);
+        posicao = copiar(instante, corpo, posicao);
+        posicao = copiar(sufixo, corpo, posicao);
+        posicao = copiar(identificador, corpo, posicao);
+        copiar(fechamento, corpo, posicao);
+        return corpo;
+    }
+
+    private static int copiar(byte[] parte, byte[] corpo, int posicao) {
+        System.arraycopy(parte, 0, corpo, posicao, parte.length);
+        return posicao + parte.length;
+    }
+
+    private static String escapar(String texto) {
+        return new String(JsonStringEncoder.getInstance().quoteAsString(texto));
+    }
+}
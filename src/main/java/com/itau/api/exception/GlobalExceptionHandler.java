@@ -1,23 +1,47 @@
 package com.itau.api.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import com.itau.api.exception.ResourceNotFoundException;
 
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+/**
+ * Traduz exceções em respostas de erro. Os corpos de erro são sempre JSON, independentemente do
+ * {@code Accept}: o formato CBOR cobre apenas os DTOs de contrato.
+ */
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final CorpoErro CONFLITO_CONCORRENTE = CorpoErro.de(HttpStatus.CONFLICT,
+            "O contrato foi alterado por outra requisição. Tente novamente.");
+
+    @ExceptionHandler(RegraNegocioException.class)
+    public ResponseEntity<byte[]> handleRegraNegocioException(RegraNegocioException ex) {
+        return ex.getCorpo().resposta();
+    }
+
+    @ExceptionHandler(ContratoDuplicadoException.class)
+    public ResponseEntity<byte[]> handleContratoDuplicadoException(ContratoDuplicadoException ex) {
+        return ex.getCorpo().resposta();
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Object> handleIllegalArgumentException(IllegalArgumentException ex, WebRequest request) {
         return buildErrorResponse(ex, HttpStatus.BAD_REQUEST);
@@ -29,8 +53,31 @@ public class GlobalExceptionHandler {
     }
     
     @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<Object> handleResourceNotFoundException(ResourceNotFoundException ex, WebRequest request) {
-        return buildErrorResponse(ex, HttpStatus.NOT_FOUND);
+    public ResponseEntity<byte[]> handleResourceNotFoundException(ResourceNotFoundException ex, WebRequest request) {
+        return ex.getCorpo().resposta(ex.getIdentificador());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<byte[]> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        // Outra requisição gravou o contrato entre a leitura e a gravação (versão desatualizada)
+        return CONFLITO_CONCORRENTE.resposta();
+    }
+
+    @ExceptionHandler(ShardIncorretoException.class)
+    public ResponseEntity<Object> handleShardIncorretoException(ShardIncorretoException ex, HttpServletRequest request) {
+        // A conta é atendida por outro nó: o cliente repete a mesma requisição (método e corpo) no nó dono
+        URI location = UriComponentsBuilder.fromUriString(ex.getNodeUrl())
+                .path(request.getRequestURI())
+                .query(request.getQueryString())
+                .build(true)
+                .toUri();
+        return ResponseEntity.status(HttpStatus.TEMPORARY_REDIRECT).location(location).build();
+    }
+
+    @ExceptionHandler(ShardCongeladoException.class)
+    public ResponseEntity<byte[]> handleShardCongeladoException(ShardCongeladoException ex) {
+        return ex.getCorpo().resposta(ResponseEntity.status(ex.getCorpo().getStatus())
+                .header(HttpHeaders.RETRY_AFTER, ShardCongeladoException.SEGUNDOS_RETRY_AFTER));
     }
 
     @ExceptionHandler(Exception.class)
@@ -56,7 +103,7 @@ public class GlobalExceptionHandler {
 
     body.put("messages", fieldErrors);
 
-    return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     private ResponseEntity<Object> buildErrorResponse(Exception ex, HttpStatus status) {
@@ -66,6 +113,6 @@ public class GlobalExceptionHandler {
         body.put("error", status.getReasonPhrase());
         body.put("message", ex.getMessage());
         
-        return new ResponseEntity<>(body, status);
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(body);
     }
 }
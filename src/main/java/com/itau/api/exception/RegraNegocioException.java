@@ -0,0 +1,33 @@
+package com.itau.api.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Recusa esperada de uma regra de negócio (HTTP 422).
+ * <p>
+ * As recusas são frequentes e não indicam falha, por isso as instâncias são pré-alocadas e carregam o
+ * corpo de erro já serializado. Como são compartilhadas entre threads, são criadas sem pilha de chamadas
+ * e sem exceções suprimidas, e nenhuma requisição consegue alterá-las.
+ */
+public class RegraNegocioException extends RuntimeException {
+
+    public static final RegraNegocioException LIMITE_INFERIOR_AO_SALDO =
+            new RegraNegocioException("O valor do limite não pode ser inferior ao saldo devedor atual.");
+    public static final RegraNegocioException LIMITE_INSUFICIENTE =
+            new RegraNegocioException("Débito não permitido. Limite disponível insuficiente.");
+    public static final RegraNegocioException CANCELAMENTO_COM_SALDO =
+            new RegraNegocioException("Não é possível cancelar um contrato com saldo devedor positivo.");
+    public static final RegraNegocioException AGENDAMENTO_SUPERADO =
+            new RegraNegocioException("Um agendamento posterior já foi aplicado ao limite do contrato.");
+
+    private final transient CorpoErro corpo;
+
+    private RegraNegocioException(String message) {
+        super(message, null, false, false);
+        this.corpo = CorpoErro.de(HttpStatus.UNPROCESSABLE_ENTITY, message);
+    }
+
+    public CorpoErro getCorpo() {
+        return corpo;
+    }
+}
@@ -1,11 +1,53 @@
 package com.itau.api.exception;
 
+import java.util.UUID;
+
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+/**
+ * Recurso inexistente (HTTP 404). É um resultado esperado: a pilha de chamadas não é capturada, e a
+ * mensagem e o corpo de erro são montados a partir de um {@link CorpoErro} pré-serializado por tipo de
+ * recurso, completado apenas com o identificador procurado.
+ */
 @ResponseStatus(HttpStatus.NOT_FOUND)
 public class ResourceNotFoundException extends RuntimeException {
-    public ResourceNotFoundException(String message) {
-        super(message);
+
+    private static final CorpoErro CONTRATO = CorpoErro.comIdentificador(HttpStatus.NOT_FOUND,
+            "Contrato não encontrado para o accountId: ");
+    private static final CorpoErro AGENDAMENTO = CorpoErro.comIdentificador(HttpStatus.NOT_FOUND,
+            "Agendamento não encontrado: ");
+
+    private final transient CorpoErro corpo;
+    private final String identificador;
+
+    private ResourceNotFoundException(CorpoErro corpo, String identificador) {
+        super(null, null, false, false);
+        this.corpo = corpo;
+        this.identificador = identificador;
+    }
+
+    public static ResourceNotFoundException contrato(String accountId) {
+        return new ResourceNotFoundException(CONTRATO, accountId);
+    }
+
+    public static ResourceNotFoundException agendamento(UUID id) {
+        return new ResourceNotFoundException(AGENDAMENTO, id.toString());
+    }
+
+    /**
+     * A mensagem só é montada quando lida, por exemplo em logs.
+     */
+    @Override
+    public String getMessage() {
+        return corpo.mensagem(identificador);
+    }
+
+    public CorpoErro getCorpo() {
+        return corpo;
+    }
+
+    public String getIdentificador() {
+        return identificador;
     }
 }
@@ -0,0 +1,27 @@
+package com.itau.api.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Recusa de uma operação sobre uma conta que está mudando de shard enquanto o rebalanceamento está
+ * congelado (HTTP 503 com {@code Retry-After}). Pré-alocada, imutável e sem pilha de chamadas, como
+ * {@link RegraNegocioException}.
+ */
+public class ShardCongeladoException extends RuntimeException {
+
+    public static final ShardCongeladoException INSTANCIA = new ShardCongeladoException();
+
+    /** Espera sugerida ao cliente, em segundos, antes de repetir a requisição. */
+    public static final String SEGUNDOS_RETRY_AFTER = "5";
+
+    private final transient CorpoErro corpo;
+
+    private ShardCongeladoException() {
+        super("Conta em migração entre shards. Tente novamente em instantes.", null, false, false);
+        this.corpo = CorpoErro.de(HttpStatus.SERVICE_UNAVAILABLE, getMessage());
+    }
+
+    public CorpoErro getCorpo() {
+        return corpo;
+    }
+}
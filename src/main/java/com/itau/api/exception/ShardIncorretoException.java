@@ -0,0 +1,20 @@
+package com.itau.api.exception;
+
+import lombok.Getter;
+
+/**
+ * Lançada quando a conta pertence a um shard atendido por outro nó; a requisição deve ser
+ * redirecionada para {@link #getNodeUrl()}.
+ */
+@Getter
+public class ShardIncorretoException extends RuntimeException {
+
+    private final String shard;
+    private final String nodeUrl;
+
+    public ShardIncorretoException(String shard, String nodeUrl) {
+        super("Conta atendida pelo shard " + shard + " em " + nodeUrl);
+        this.shard = shard;
+        this.nodeUrl = nodeUrl;
+    }
+}
@@ -0,0 +1,10 @@
+package com.itau.api.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Referência leve a um agendamento pendente: apenas o necessário para posicioná-lo na roda de tempo.
+ */
+public record AgendamentoPendente(UUID id, String accountId, Instant executarEm) {
+}
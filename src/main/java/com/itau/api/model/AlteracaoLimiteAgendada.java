@@ -0,0 +1,52 @@
+package com.itau.api.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "alteracoes_limite_agendadas", indexes = {
+        @Index(name = "idx_alteracao_limite_status_execucao", columnList = "status, executarEm")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlteracaoLimiteAgendada {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @Column(nullable = false)
+    private String accountId;
+
+    @Column(nullable = false)
+    private BigDecimal valorLimite;
+
+    @Column(nullable = false)
+    private Instant executarEm;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusAgendamento status;
+
+    @Column(nullable = false)
+    private int tentativas;
+
+    private String ultimoErro;
+}
@@ -1,14 +1,18 @@
 package com.itau.api.model;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.UUID;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -34,4 +38,21 @@ public class Contrato {
 
     @Column(nullable = false)
     private BigDecimal saldoDevedor;
+
+    /**
+     * Versão para controle otimista de concorrência. Também ordena as réplicas entre shards:
+     * uma cópia só é sobrescrita por uma versão mais nova.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
+    /**
+     * Instante de execução e identificador do último agendamento de limite aplicado. São gravados na mesma
+     * atualização do limite, de modo que um agendamento já aplicado ou anterior a ele não é reaplicado.
+     */
+    private Instant agendamentoAplicadoEm;
+
+    private UUID agendamentoAplicadoId;
 }
@@ -0,0 +1,8 @@
+package com.itau.api.model;
+
+public enum StatusAgendamento {
+    PENDENTE,
+    APLICADA,
+    REJEITADA,
+    FALHA
+}
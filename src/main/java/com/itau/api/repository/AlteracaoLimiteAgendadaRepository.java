@@ -0,0 +1,54 @@
+package com.itau.api.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.itau.api.model.AgendamentoPendente;
+import com.itau.api.model.AlteracaoLimiteAgendada;
+
+@Repository
+public interface AlteracaoLimiteAgendadaRepository extends JpaRepository<AlteracaoLimiteAgendada, UUID> {
+
+    /**
+     * Página de agendamentos pendentes com execução em {@code (executarEm, id) > (aposExecutarEm, aposId)}
+     * e {@code executarEm <= ate}, ordenada por {@code (executarEm, id)} para paginação por chave.
+     */
+    @Query("""
+            select new com.itau.api.model.AgendamentoPendente(a.id, a.accountId, a.executarEm)
+            from AlteracaoLimiteAgendada a
+            where a.status = com.itau.api.model.StatusAgendamento.PENDENTE
+              and a.executarEm <= :ate
+              and (a.executarEm > :aposExecutarEm or (a.executarEm = :aposExecutarEm and a.id > :aposId))
+            order by a.executarEm, a.id""")
+    List<AgendamentoPendente> buscarPendentes(@Param("aposExecutarEm") Instant aposExecutarEm,
+            @Param("aposId") UUID aposId,
+            @Param("ate") Instant ate,
+            Limit limite);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update AlteracaoLimiteAgendada a
+            set a.status = com.itau.api.model.StatusAgendamento.APLICADA, a.tentativas = a.tentativas + 1
+            where a.id in :ids and a.status = com.itau.api.model.StatusAgendamento.PENDENTE""")
+    int marcarAplicadas(@Param("ids") Collection<UUID> ids);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update AlteracaoLimiteAgendada a
+            set a.status = com.itau.api.model.StatusAgendamento.REJEITADA, a.tentativas = a.tentativas + 1,
+                a.ultimoErro = :erro
+            where a.id in :ids and a.status = com.itau.api.model.StatusAgendamento.PENDENTE""")
+    int marcarRejeitadas(@Param("ids") Collection<UUID> ids, @Param("erro") String erro);
+}
@@ -0,0 +1,33 @@
+package com.itau.api.scheduler;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração do agendador de alterações de limite ({@code agendamento.limite.*}).
+ *
+ * @param tick Granularidade da roda de tempo e intervalo entre drenagens dos buckets vencidos.
+ * @param tamanhoRoda Quantidade de buckets por nível da roda de tempo.
+ * @param horizonte Antecedência com que os agendamentos pendentes são carregados do banco para a roda.
+ * @param intervaloCarga Intervalo entre cargas da próxima janela de agendamentos pendentes.
+ * @param intervaloVarredura Intervalo entre varreduras de agendamentos pendentes atrasados, que não
+ *        foram carregados pela janela (por exemplo, após uma mudança de shard da conta).
+ * @param tamanhoLote Quantidade máxima de agendamentos por página de carga e por lote de processamento.
+ * @param paralelismo Quantidade de lotes processados em paralelo.
+ * @param maxTentativas Número máximo de tentativas antes de encerrar o agendamento como falha.
+ * @param backoff Espera entre uma falha e a próxima tentativa.
+ */
+@ConfigurationProperties(prefix = "agendamento.limite")
+public record AgendamentoLimiteProperties(
+        @DefaultValue("1s") Duration tick,
+        @DefaultValue("60") int tamanhoRoda,
+        @DefaultValue("10m") Duration horizonte,
+        @DefaultValue("30s") Duration intervaloCarga,
+        @DefaultValue("5m") Duration intervaloVarredura,
+        @DefaultValue("500") int tamanhoLote,
+        @DefaultValue("4") int paralelismo,
+        @DefaultValue("5") int maxTentativas,
+        @DefaultValue("30s") Duration backoff) {
+}
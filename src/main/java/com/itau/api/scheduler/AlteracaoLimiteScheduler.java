@@ -0,0 +1,234 @@
+package com.itau.api.scheduler;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.itau.api.exception.ResourceNotFoundException;
+import com.itau.api.exception.ShardCongeladoException;
+import com.itau.api.exception.ShardIncorretoException;
+import com.itau.api.model.AgendamentoPendente;
+import com.itau.api.model.StatusAgendamento;
+import com.itau.api.service.AgendamentoLimiteService;
+import com.itau.api.shard.ShardRouter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executa as alterações de limite agendadas.
+ * <p>
+ * Os agendamentos pendentes são carregados em uma {@link HierarchicalTimingWheel} por janelas
+ * consecutivas: cada carga busca apenas os agendamentos com execução entre o horizonte já carregado
+ * e o novo horizonte, paginando por {@code (executarEm, id)} e projetando somente id, conta e instante.
+ * Agendamentos criados dentro de uma janela já carregada chegam por evento, e uma varredura periódica
+ * recupera os pendentes atrasados que ficaram de fora (por exemplo, após uma mudança de shard).
+ * <p>
+ * A cada tick os buckets vencidos são drenados e divididos em lotes, processados em paralelo; cada lote
+ * é lido e tem seus status gravados em poucas instruções, e com isso a carga sobre o banco fica
+ * distribuída ao longo da janela agendada em vez de concentrada em um único instante. Com sharding,
+ * cada nó mantém na roda apenas os agendamentos das contas que atende.
+ */
+@Slf4j
+@Component
+public class AlteracaoLimiteScheduler {
+
+    private static final String METRICA_EXECUCOES = "agendamento.limite.execucoes";
+    private static final UUID MAIOR_ID = new UUID(-1L, -1L);
+    private static final UUID MENOR_ID = new UUID(0L, 0L);
+
+    private final AgendamentoLimiteService agendamentoService;
+    private final AgendamentoLimiteProperties properties;
+    private final ShardRouter shardRouter;
+    private final Clock clock;
+    private final HierarchicalTimingWheel<AgendamentoPendente> roda;
+    private final Set<UUID> emAndamento = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor;
+
+    /** Limite superior das janelas já carregadas; agendamentos até ele só entram na roda por evento ou varredura. */
+    private volatile Instant horizonteCarregado = Instant.EPOCH;
+
+    private final Counter aplicadas;
+    private final Counter rejeitadas;
+    private final Counter retentativas;
+    private final Counter falhas;
+    private final Timer duracao;
+
+    @Autowired
+    public AlteracaoLimiteScheduler(AgendamentoLimiteService agendamentoService,
+            AgendamentoLimiteProperties properties,
+            ShardRouter shardRouter,
+            MeterRegistry meterRegistry,
+            Clock clock) {
+        this(agendamentoService, properties, shardRouter, meterRegistry, clock,
+                Executors.newFixedThreadPool(properties.paralelismo()));
+    }
+
+    AlteracaoLimiteScheduler(AgendamentoLimiteService agendamentoService,
+            AgendamentoLimiteProperties properties,
+            ShardRouter shardRouter,
+            MeterRegistry meterRegistry,
+            Clock clock,
+            ExecutorService executor) {
+        this.agendamentoService = agendamentoService;
+        this.properties = properties;
+        this.shardRouter = shardRouter;
+        this.clock = clock;
+        this.roda = new HierarchicalTimingWheel<>(properties.tick().toMillis(), properties.tamanhoRoda(), clock.millis());
+        this.executor = executor;
+
+        this.aplicadas = meterRegistry.counter(METRICA_EXECUCOES, "resultado", "aplicada");
+        this.rejeitadas = meterRegistry.counter(METRICA_EXECUCOES, "resultado", "rejeitada");
+        this.retentativas = meterRegistry.counter(METRICA_EXECUCOES, "resultado", "retentativa");
+        this.falhas = meterRegistry.counter(METRICA_EXECUCOES, "resultado", "falha");
+        this.duracao = meterRegistry.timer("agendamento.limite.lote");
+        meterRegistry.gauge("agendamento.limite.pendentes", roda, HierarchicalTimingWheel::tamanho);
+    }
+
+    /**
+     * Carrega na roda de tempo os agendamentos pendentes deste nó com execução entre o horizonte já
+     * carregado e o novo horizonte. A primeira carga inclui todos os pendentes até o horizonte.
+     */
+    @Scheduled(fixedDelayString = "${agendamento.limite.intervalo-carga:30s}")
+    public synchronized void carregarPendentes() {
+        Instant inicio = horizonteCarregado;
+        Instant horizonte = clock.instant().plus(properties.horizonte());
+        // O horizonte avança antes da consulta: um agendamento criado durante a carga ou é encontrado
+        // por ela, ou seu evento já enxerga o novo horizonte e o inclui diretamente.
+        horizonteCarregado = horizonte;
+        carregar(inicio, MAIOR_ID, horizonte);
+    }
+
+    /**
+     * Recupera agendamentos pendentes atrasados que não estão na roda, como os de contas que passaram a
+     * ser atendidas por este nó depois que suas janelas foram carregadas.
+     */
+    @Scheduled(fixedDelayString = "${agendamento.limite.intervalo-varredura:5m}",
+            initialDelayString = "${agendamento.limite.intervalo-varredura:5m}")
+    public void recuperarAtrasados() {
+        carregar(Instant.EPOCH, MENOR_ID, clock.instant().minus(properties.intervaloVarredura()));
+    }
+
+    /**
+     * Inclui na roda um agendamento recém-criado cuja janela já foi carregada.
+     */
+    @EventListener
+    public void agendamentoCriado(AgendamentoPendente agendamento) {
+        if (!agendamento.executarEm().isAfter(horizonteCarregado)) {
+            agendar(agendamento);
+        }
+    }
+
+    /**
+     * Drena os buckets vencidos da roda de tempo e envia os agendamentos em lotes para o pool do agendador.
+     * O tick não espera os lotes terminarem, para não ocupar a thread de agendamento compartilhada com a
+     * carga e a varredura; cada agendamento é drenado da roda uma única vez.
+     */
+    @Scheduled(fixedDelayString = "${agendamento.limite.tick:1s}")
+    public void processarVencidos() {
+        List<AgendamentoPendente> vencidos = roda.avancar(clock.millis());
+        if (vencidos.isEmpty()) {
+            return;
+        }
+
+        for (int inicio = 0; inicio < vencidos.size(); inicio += properties.tamanhoLote()) {
+            List<AgendamentoPendente> lote = vencidos.subList(inicio, Math.min(inicio + properties.tamanhoLote(), vencidos.size()));
+            executor.execute(() -> processarLote(lote));
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdown();
+    }
+
+    private void carregar(Instant aposExecutarEm, UUID aposId, Instant ate) {
+        List<AgendamentoPendente> pagina;
+        do {
+            pagina = agendamentoService.buscarPendentes(aposExecutarEm, aposId, ate, properties.tamanhoLote());
+            pagina.forEach(this::agendar);
+            if (!pagina.isEmpty()) {
+                AgendamentoPendente ultimo = pagina.get(pagina.size() - 1);
+                aposExecutarEm = ultimo.executarEm();
+                aposId = ultimo.id();
+            }
+        } while (pagina.size() == properties.tamanhoLote());
+    }
+
+    private void agendar(AgendamentoPendente agendamento) {
+        if (shardRouter.isLocal(agendamento.accountId()) && emAndamento.add(agendamento.id())) {
+            roda.agendar(agendamento, agendamento.executarEm().toEpochMilli());
+        }
+    }
+
+    private void processarLote(List<AgendamentoPendente> lote) {
+        Timer.Sample amostra = Timer.start();
+        AgendamentoLimiteService.ResultadoLote resultado;
+        try {
+            resultado = agendamentoService.aplicarLote(lote.stream().map(AgendamentoPendente::id).toList());
+        } catch (RuntimeException ex) {
+            lote.forEach(pendente -> tratarFalha(pendente, ex));
+            return;
+        } finally {
+            amostra.stop(duracao);
+        }
+
+        for (AgendamentoPendente pendente : lote) {
+            RuntimeException falha = resultado.falhas().get(pendente.id());
+            if (falha instanceof ShardIncorretoException) {
+                // A conta passou a ser atendida por outro nó, que carregará o agendamento
+                emAndamento.remove(pendente.id());
+            } else if (falha instanceof ShardCongeladoException) {
+                // A conta está congelada pelo rebalanceamento; aguarda o cutover sem contar uma tentativa
+                roda.agendar(pendente, clock.millis() + properties.backoff().toMillis());
+            } else if (falha != null) {
+                tratarFalha(pendente, falha);
+            } else {
+                StatusAgendamento status = resultado.concluidos().get(pendente.id());
+                if (status == StatusAgendamento.APLICADA) {
+                    aplicadas.increment();
+                } else if (status == StatusAgendamento.REJEITADA) {
+                    rejeitadas.increment();
+                }
+                emAndamento.remove(pendente.id());
+            }
+        }
+    }
+
+    private void tratarFalha(AgendamentoPendente pendente, RuntimeException erro) {
+        log.warn("Falha ao aplicar alteração de limite agendada {} da conta {}: {}",
+                pendente.id(), pendente.accountId(), erro.getMessage());
+
+        boolean retentar;
+        try {
+            retentar = agendamentoService.registrarFalha(pendente.id(), erro.getMessage(), properties.maxTentativas());
+        } catch (ResourceNotFoundException ex) {
+            emAndamento.remove(pendente.id());
+            return;
+        } catch (RuntimeException ex) {
+            // Sem conseguir registrar a falha, a tentativa não é contabilizada e o agendamento volta para a roda.
+            retentar = true;
+        }
+
+        if (retentar) {
+            retentativas.increment();
+            roda.agendar(pendente, clock.millis() + properties.backoff().toMillis());
+        } else {
+            falhas.increment();
+            emAndamento.remove(pendente.id());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.itau.api.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Roda de tempo hierárquica (hierarchical timing wheel) para agendamentos em memória.
+ * <p>
+ * O nível 0 possui {@code tamanhoRoda} buckets de {@code tickMillis}; cada nível seguinte
+ * possui buckets do tamanho do intervalo completo do nível anterior. Itens distantes ficam
+ * em níveis superiores e descem em cascata à medida que o relógio avança, de forma que
+ * agendar e vencer itens custa O(1) amortizado, independente de quantos estão pendentes.
+ * <p>
+ * Os prazos são arredondados para cima até o próximo tick: um item nunca vence antes do
+ * seu prazo, e vence no máximo um tick depois dele.
+ *
+ * @param <T> Tipo do item agendado.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int tamanhoRoda;
+    private final List<Nivel<T>> niveis = new ArrayList<>();
+    private final List<T> vencidos = new ArrayList<>();
+    private long tempoAtual;
+    private int tamanho;
+
+    /**
+     * @param tickMillis Duração de um bucket do nível 0, em milissegundos.
+     * @param tamanhoRoda Quantidade de buckets por nível.
+     * @param inicioMillis Instante inicial do relógio da roda, em epoch millis.
+     */
+    public HierarchicalTimingWheel(long tickMillis, int tamanhoRoda, long inicioMillis) {
+        if (tickMillis <= 0 || tamanhoRoda < 2) {
+            throw new IllegalArgumentException("tickMillis deve ser positivo e tamanhoRoda maior que 1.");
+        }
+        this.tickMillis = tickMillis;
+        this.tamanhoRoda = tamanhoRoda;
+        this.tempoAtual = inicioMillis - Math.floorMod(inicioMillis, tickMillis);
+        this.niveis.add(new Nivel<>(tickMillis, tamanhoRoda));
+    }
+
+    /**
+     * Agenda um item para vencer no prazo informado. Prazos já passados vencem no próximo avanço.
+     *
+     * @param item O item a ser agendado.
+     * @param prazoMillis O prazo de vencimento, em epoch millis.
+     */
+    public synchronized void agendar(T item, long prazoMillis) {
+        long alvo = Math.ceilDiv(prazoMillis, tickMillis) * tickMillis;
+        inserir(new Entrada<>(item, alvo));
+        tamanho++;
+    }
+
+    /**
+     * Avança o relógio da roda até o instante informado, descendo em cascata os buckets dos
+     * níveis superiores, e devolve todos os itens vencidos desde o último avanço.
+     *
+     * @param agoraMillis O instante atual, em epoch millis.
+     * @return Os itens vencidos, na ordem em que venceram.
+     */
+    public synchronized List<T> avancar(long agoraMillis) {
+        while (tempoAtual + tickMillis <= agoraMillis) {
+            tempoAtual += tickMillis;
+            for (int i = niveis.size() - 1; i >= 0; i--) {
+                Nivel<T> nivel = niveis.get(i);
+                if (tempoAtual % nivel.tickMillis == 0) {
+                    nivel.esvaziar(tempoAtual).forEach(this::inserir);
+                }
+            }
+        }
+
+        List<T> resultado = new ArrayList<>(vencidos);
+        vencidos.clear();
+        tamanho -= resultado.size();
+        return resultado;
+    }
+
+    /**
+     * @return A quantidade de itens agendados ainda não devolvidos por {@link #avancar(long)}.
+     */
+    public synchronized int tamanho() {
+        return tamanho;
+    }
+
+    private void inserir(Entrada<T> entrada) {
+        if (entrada.alvo <= tempoAtual) {
+            vencidos.add(entrada.item);
+            return;
+        }
+
+        int indice = 0;
+        Nivel<T> nivel = niveis.get(0);
+        while (entrada.alvo >= nivel.inicio(tempoAtual) + nivel.intervalo()) {
+            indice++;
+            if (indice == niveis.size()) {
+                niveis.add(new Nivel<>(nivel.intervalo(), tamanhoRoda));
+            }
+            nivel = niveis.get(indice);
+        }
+        nivel.adicionar(entrada);
+    }
+
+    private record Entrada<T>(T item, long alvo) {
+    }
+
+    private static final class Nivel<T> {
+
+        private final long tickMillis;
+        private final List<List<Entrada<T>>> buckets;
+
+        private Nivel(long tickMillis, int tamanhoRoda) {
+            this.tickMillis = tickMillis;
+            this.buckets = new ArrayList<>(tamanhoRoda);
+            for (int i = 0; i < tamanhoRoda; i++) {
+                buckets.add(new ArrayList<>());
+            }
+        }
+
+        private long intervalo() {
+            return tickMillis * buckets.size();
+        }
+
+        private long inicio(long tempoAtual) {
+            return tempoAtual - Math.floorMod(tempoAtual, tickMillis);
+        }
+
+        private void adicionar(Entrada<T> entrada) {
+            buckets.get(indice(entrada.alvo)).add(entrada);
+        }
+
+        private List<Entrada<T>> esvaziar(long instante) {
+            int indice = indice(instante);
+            List<Entrada<T>> bucket = buckets.get(indice);
+            buckets.set(indice, new ArrayList<>());
+            return bucket;
+        }
+
+        private int indice(long instante) {
+            return (int) Math.floorMod(Math.floorDiv(instante, tickMillis), (long) buckets.size());
+        }
+    }
+}
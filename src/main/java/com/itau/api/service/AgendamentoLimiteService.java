@@ -0,0 +1,178 @@
+package com.itau.api.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import com.itau.api.dto.AgendarAlteracaoLimiteRequestDTO;
+import com.itau.api.dto.AlteracaoLimiteAgendadaResponseDTO;
+import com.itau.api.exception.RegraNegocioException;
+import com.itau.api.exception.ResourceNotFoundException;
+import com.itau.api.model.AgendamentoPendente;
+import com.itau.api.model.AlteracaoLimiteAgendada;
+import com.itau.api.model.StatusAgendamento;
+import com.itau.api.repository.AlteracaoLimiteAgendadaRepository;
+
+import lombok.AllArgsConstructor;
+
+@Service
+@AllArgsConstructor
+public class AgendamentoLimiteService {
+
+    private static final int TAMANHO_MAXIMO_ERRO = 255;
+
+    private final AlteracaoLimiteAgendadaRepository agendamentoRepository;
+    private final ContratoService contratoService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Resultado da aplicação de um lote de agendamentos.
+     *
+     * @param concluidos Status final dos agendamentos encerrados (aplicados, rejeitados ou já encerrados antes).
+     * @param falhas Falhas de infraestrutura por agendamento, que devem ser retentadas.
+     */
+    public record ResultadoLote(Map<UUID, StatusAgendamento> concluidos, Map<UUID, RuntimeException> falhas) {
+    }
+
+    /**
+     * Agenda a alteração do limite de um contrato para um instante futuro.
+     * A regra do saldo devedor é verificada apenas na execução, contra o saldo vigente naquele momento.
+     * O agendamento criado é publicado como {@link AgendamentoPendente} para que o agendador o inclua
+     * caso a janela que o contém já tenha sido carregada.
+     *
+     * @param accountId O identificador da conta.
+     * @param request O DTO com o novo valor do limite e o instante de execução.
+     * @return O DTO de resposta com os dados do agendamento criado.
+     * @throws ResourceNotFoundException se nenhum contrato for encontrado para o accountId informado.
+     */
+    public AlteracaoLimiteAgendadaResponseDTO agendarAlteracaoLimite(String accountId, AgendarAlteracaoLimiteRequestDTO request) {
+        contratoService.consultarContrato(accountId);
+
+        AlteracaoLimiteAgendada agendamento = AlteracaoLimiteAgendada.builder()
+                .accountId(accountId)
+                .valorLimite(request.getValor())
+                .executarEm(request.getExecutarEm())
+                .status(StatusAgendamento.PENDENTE)
+                .tentativas(0)
+                .build();
+
+        AlteracaoLimiteAgendada savedAgendamento = agendamentoRepository.save(agendamento);
+        eventPublisher.publishEvent(new AgendamentoPendente(
+                savedAgendamento.getId(), savedAgendamento.getAccountId(), savedAgendamento.getExecutarEm()));
+        return toResponseDTO(savedAgendamento);
+    }
+
+    /**
+     * Busca uma página de agendamentos pendentes, ordenados por {@code (executarEm, id)}, posteriores ao
+     * cursor {@code (aposExecutarEm, aposId)} e com execução prevista até {@code ate}.
+     *
+     * @param aposExecutarEm O instante de execução do último agendamento da página anterior.
+     * @param aposId O identificador do último agendamento da página anterior.
+     * @param ate O instante máximo de execução.
+     * @param tamanhoPagina A quantidade máxima de agendamentos retornados.
+     * @return Os identificadores, contas e instantes de execução dos agendamentos encontrados.
+     */
+    public List<AgendamentoPendente> buscarPendentes(Instant aposExecutarEm, UUID aposId, Instant ate, int tamanhoPagina) {
+        return agendamentoRepository.buscarPendentes(aposExecutarEm, aposId, ate, Limit.of(tamanhoPagina));
+    }
+
+    /**
+     * Aplica um lote de alterações agendadas com {@link ContratoService#aplicarAgendamento}.
+     * Rejeições de negócio (contrato inexistente, limite inferior ao saldo devedor ou agendamento posterior
+     * já aplicado na conta) encerram o agendamento como {@link StatusAgendamento#REJEITADA}; demais falhas
+     * são devolvidas para retentativa.
+     * <p>
+     * O lote é lido em uma única consulta e os status finais são gravados com uma atualização em massa por
+     * desfecho; apenas a alteração do contrato é feita conta a conta. O contrato registra o agendamento
+     * aplicado na mesma gravação do limite, por isso uma falha ao gravar os status não leva a uma segunda
+     * aplicação: na retentativa, o agendamento é reconhecido como aplicado. Agendamentos que não estão mais
+     * pendentes não são reaplicados, e agendamentos inexistentes são ignorados.
+     *
+     * @param ids Os identificadores dos agendamentos.
+     * @return Os status finais e as falhas por agendamento.
+     */
+    public ResultadoLote aplicarLote(Collection<UUID> ids) {
+        Map<UUID, StatusAgendamento> concluidos = new HashMap<>();
+        Map<UUID, RuntimeException> falhas = new HashMap<>();
+        List<UUID> aplicadas = new ArrayList<>();
+        Map<String, List<UUID>> rejeitadasPorErro = new LinkedHashMap<>();
+
+        for (AlteracaoLimiteAgendada agendamento : agendamentoRepository.findAllById(ids)) {
+            if (agendamento.getStatus() != StatusAgendamento.PENDENTE) {
+                concluidos.put(agendamento.getId(), agendamento.getStatus());
+                continue;
+            }
+            try {
+                contratoService.aplicarAgendamento(agendamento);
+                aplicadas.add(agendamento.getId());
+                concluidos.put(agendamento.getId(), StatusAgendamento.APLICADA);
+            } catch (RegraNegocioException | ResourceNotFoundException ex) {
+                rejeitadasPorErro.computeIfAbsent(truncar(ex.getMessage()), erro -> new ArrayList<>()).add(agendamento.getId());
+                concluidos.put(agendamento.getId(), StatusAgendamento.REJEITADA);
+            } catch (RuntimeException ex) {
+                falhas.put(agendamento.getId(), ex);
+            }
+        }
+
+        if (!aplicadas.isEmpty()) {
+            agendamentoRepository.marcarAplicadas(aplicadas);
+        }
+        rejeitadasPorErro.forEach((erro, rejeitadas) -> agendamentoRepository.marcarRejeitadas(rejeitadas, erro));
+        return new ResultadoLote(concluidos, falhas);
+    }
+
+    /**
+     * Registra uma falha de execução. Ao atingir o máximo de tentativas o agendamento
+     * é encerrado como {@link StatusAgendamento#FALHA}.
+     *
+     * @param id O identificador do agendamento.
+     * @param erro A mensagem da falha.
+     * @param maxTentativas O número máximo de tentativas permitidas.
+     * @return {@code true} se o agendamento ainda deve ser retentado.
+     * @throws ResourceNotFoundException se o agendamento não existir.
+     */
+    public boolean registrarFalha(UUID id, String erro, int maxTentativas) {
+        AlteracaoLimiteAgendada agendamento = findAgendamentoById(id);
+        agendamento.setTentativas(agendamento.getTentativas() + 1);
+        agendamento.setUltimoErro(truncar(erro));
+
+        boolean retentar = agendamento.getTentativas() < maxTentativas;
+        if (!retentar) {
+            agendamento.setStatus(StatusAgendamento.FALHA);
+        }
+        agendamentoRepository.save(agendamento);
+        return retentar;
+    }
+
+    private AlteracaoLimiteAgendada findAgendamentoById(UUID id) {
+        return agendamentoRepository.findById(id)
+                .orElseThrow(() -> ResourceNotFoundException.agendamento(id));
+    }
+
+    private static String truncar(String mensagem) {
+        if (mensagem == null || mensagem.length() <= TAMANHO_MAXIMO_ERRO) {
+            return mensagem;
+        }
+        return mensagem.substring(0, TAMANHO_MAXIMO_ERRO);
+    }
+
+    private AlteracaoLimiteAgendadaResponseDTO toResponseDTO(AlteracaoLimiteAgendada agendamento) {
+        return AlteracaoLimiteAgendadaResponseDTO.builder()
+                .id(agendamento.getId())
+                .accountId(agendamento.getAccountId())
+                .valorLimite(agendamento.getValorLimite())
+                .executarEm(agendamento.getExecutarEm())
+                .status(agendamento.getStatus())
+                .tentativas(agendamento.getTentativas())
+                .build();
+    }
+}
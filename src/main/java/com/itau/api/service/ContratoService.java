@@ -1,15 +1,20 @@
 package com.itau.api.service;
 
 import java.math.BigDecimal;
+import java.util.Comparator;
 import java.util.Optional;
 
 import org.springframework.stereotype.Service;
 
 import com.itau.api.dto.ContratoRequestDTO;
 import com.itau.api.dto.ContratoResponseDTO;
+import com.itau.api.exception.ContratoDuplicadoException;
+import com.itau.api.exception.RegraNegocioException;
 import com.itau.api.exception.ResourceNotFoundException;
+import com.itau.api.model.AlteracaoLimiteAgendada;
 import com.itau.api.model.Contrato;
 import com.itau.api.repository.ContratoRepository;
+import com.itau.api.shard.ShardRouter;
 
 import lombok.AllArgsConstructor;
 
@@ -17,7 +22,12 @@ import lombok.AllArgsConstructor;
 @AllArgsConstructor
 public class ContratoService {
 
+    private static final Comparator<Contrato> ORDEM_AGENDAMENTO = Comparator
+            .comparing(Contrato::getAgendamentoAplicadoEm, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Contrato::getAgendamentoAplicadoId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
     private final ContratoRepository contratoRepository;
+    private final ShardRouter shardRouter;
 
     /**
      * Cria um novo contrato de limite para uma conta.
@@ -25,22 +35,24 @@ public class ContratoService {
      *
      * @param request O DTO contendo o accountId e o valor do limite a ser contratado.
      * @return O DTO de resposta com os dados do contrato criado.
-     * @throws IllegalArgumentException se um contrato já existir para o accountId informado.
+     * @throws ContratoDuplicadoException se um contrato já existir para o accountId informado.
      */
     public ContratoResponseDTO criarContrato(ContratoRequestDTO request) {
-        Optional<Contrato> existingContrato = contratoRepository.findByAccountId(request.getAccountId());
-        if (existingContrato.isPresent()) {
-            throw new IllegalArgumentException("Contrato já existente para este accountId.");
-        }
-
-        Contrato contrato = Contrato.builder()
-                .accountId(request.getAccountId())
-                .valorLimite(request.getValorLimite())
-                .saldoDevedor(BigDecimal.ZERO)
-                .build();
-
-        Contrato savedContrato = contratoRepository.save(contrato);
-        return toResponseDTO(savedContrato);
+        return shardRouter.executar(request.getAccountId(), () -> {
+            Optional<Contrato> existingContrato = contratoRepository.findByAccountId(request.getAccountId());
+            if (existingContrato.isPresent()) {
+                throw ContratoDuplicadoException.INSTANCIA;
+            }
+
+            Contrato contrato = Contrato.builder()
+                    .accountId(request.getAccountId())
+                    .valorLimite(request.getValorLimite())
+                    .saldoDevedor(BigDecimal.ZERO)
+                    .build();
+
+            Contrato savedContrato = salvar(contrato);
+            return toResponseDTO(savedContrato);
+        });
     }
 
     /**
@@ -51,8 +63,10 @@ public class ContratoService {
      * @throws ResourceNotFoundException se nenhum contrato for encontrado para o accountId informado.
      */
     public ContratoResponseDTO consultarContrato(String accountId) {
-        Contrato contrato = findContratoByAccountId(accountId);
-        return toResponseDTO(contrato);
+        return shardRouter.executar(accountId, () -> {
+            Contrato contrato = findContratoByAccountId(accountId);
+            return toResponseDTO(contrato);
+        });
     }
 
     /**
@@ -62,19 +76,59 @@ public class ContratoService {
      * @param novoValorLimite O novo valor total do limite.
      * @return O DTO de resposta com os dados do contrato atualizado.
      * @throws ResourceNotFoundException se nenhum contrato for encontrado para o accountId informado.
-     * @throws IllegalStateException se o novo valor do limite for inferior ao saldo devedor atual.
+     * @throws RegraNegocioException se o novo valor do limite for inferior ao saldo devedor atual.
      */
     public ContratoResponseDTO alterarLimite(String accountId, BigDecimal novoValorLimite) {
-        Contrato contrato = findContratoByAccountId(accountId);
+        return shardRouter.executar(accountId, () -> {
+            Contrato contrato = findContratoByAccountId(accountId);
 
-        if (novoValorLimite.compareTo(contrato.getSaldoDevedor()) < 0) {
-            throw new IllegalStateException("O valor do limite não pode ser inferior ao saldo devedor atual.");
-        }
+            if (novoValorLimite.compareTo(contrato.getSaldoDevedor()) < 0) {
+                throw RegraNegocioException.LIMITE_INFERIOR_AO_SALDO;
+            }
 
-        contrato.setValorLimite(novoValorLimite);
-        
-        Contrato savedContrato = contratoRepository.save(contrato);
-        return toResponseDTO(savedContrato);
+            contrato.setValorLimite(novoValorLimite);
+
+            Contrato savedContrato = salvar(contrato);
+            return toResponseDTO(savedContrato);
+        });
+    }
+
+    /**
+     * Aplica uma alteração de limite agendada com a mesma regra de {@link #alterarLimite}.
+     * <p>
+     * O agendamento é registrado no contrato na mesma gravação do limite. Um agendamento já aplicado não é
+     * reaplicado, e um agendamento anterior, por {@code (executarEm, id)}, ao último aplicado na conta é
+     * recusado, para que uma retentativa não sobrescreva um limite mais novo.
+     *
+     * @param agendamento O agendamento a ser aplicado.
+     * @throws ResourceNotFoundException se nenhum contrato for encontrado para a conta do agendamento.
+     * @throws RegraNegocioException se o novo valor do limite for inferior ao saldo devedor atual ou se um
+     *         agendamento posterior já tiver sido aplicado.
+     */
+    public void aplicarAgendamento(AlteracaoLimiteAgendada agendamento) {
+        shardRouter.executar(agendamento.getAccountId(), () -> {
+            Contrato contrato = findContratoByAccountId(agendamento.getAccountId());
+            Contrato aplicado = Contrato.builder()
+                    .agendamentoAplicadoEm(agendamento.getExecutarEm())
+                    .agendamentoAplicadoId(agendamento.getId())
+                    .build();
+
+            int ordem = ORDEM_AGENDAMENTO.compare(aplicado, contrato);
+            if (ordem == 0) {
+                return;
+            }
+            if (ordem < 0) {
+                throw RegraNegocioException.AGENDAMENTO_SUPERADO;
+            }
+            if (agendamento.getValorLimite().compareTo(contrato.getSaldoDevedor()) < 0) {
+                throw RegraNegocioException.LIMITE_INFERIOR_AO_SALDO;
+            }
+
+            contrato.setValorLimite(agendamento.getValorLimite());
+            contrato.setAgendamentoAplicadoEm(agendamento.getExecutarEm());
+            contrato.setAgendamentoAplicadoId(agendamento.getId());
+            salvar(contrato);
+        });
     }
 
     /**
@@ -83,14 +137,17 @@ public class ContratoService {
      *
      * @param accountId O identificador da conta.
      * @throws ResourceNotFoundException se nenhum contrato for encontrado para o accountId informado.
-     * @throws IllegalStateException se o contrato possuir saldo devedor maior que zero.
+     * @throws RegraNegocioException se o contrato possuir saldo devedor maior que zero.
      */
     public void cancelarContrato(String accountId) {
-        Contrato contrato = findContratoByAccountId(accountId);
-        if (contrato.getSaldoDevedor().compareTo(BigDecimal.ZERO) > 0) {
-            throw new IllegalStateException("Não é possível cancelar um contrato com saldo devedor positivo.");
-        }
-        contratoRepository.delete(contrato);
+        shardRouter.executar(accountId, () -> {
+            Contrato contrato = findContratoByAccountId(accountId);
+            if (contrato.getSaldoDevedor().compareTo(BigDecimal.ZERO) > 0) {
+                throw RegraNegocioException.CANCELAMENTO_COM_SALDO;
+            }
+            contratoRepository.delete(contrato);
+            shardRouter.replicarRemocao(contrato);
+        });
     }
 
     /**
@@ -101,19 +158,21 @@ public class ContratoService {
      * @param valor O valor a ser debitado.
      * @return O DTO de resposta com os dados do contrato atualizado.
      * @throws ResourceNotFoundException se nenhum contrato for encontrado para o accountId informado.
-     * @throws IllegalStateException se o valor do débito for maior que o limite disponível.
+     * @throws RegraNegocioException se o valor do débito for maior que o limite disponível.
      */
     public ContratoResponseDTO registrarDebito(String accountId, BigDecimal valor) {
-        Contrato contrato = findContratoByAccountId(accountId);
-        BigDecimal limiteDisponivel = contrato.getValorLimite().subtract(contrato.getSaldoDevedor());
-        
-        if (limiteDisponivel.compareTo(valor) < 0) {
-            throw new IllegalStateException("Débito não permitido. Limite disponível insuficiente.");
-        }
-        
-        contrato.setSaldoDevedor(contrato.getSaldoDevedor().add(valor));
-        Contrato savedContrato = contratoRepository.save(contrato);
-        return toResponseDTO(savedContrato);
+        return shardRouter.executar(accountId, () -> {
+            Contrato contrato = findContratoByAccountId(accountId);
+            BigDecimal limiteDisponivel = contrato.getValorLimite().subtract(contrato.getSaldoDevedor());
+
+            if (limiteDisponivel.compareTo(valor) < 0) {
+                throw RegraNegocioException.LIMITE_INSUFICIENTE;
+            }
+
+            contrato.setSaldoDevedor(contrato.getSaldoDevedor().add(valor));
+            Contrato savedContrato = salvar(contrato);
+            return toResponseDTO(savedContrato);
+        });
     }
 
     /**
@@ -126,21 +185,32 @@ public class ContratoService {
      * @throws ResourceNotFoundException se nenhum contrato for encontrado para o accountId informado.
      */
     public ContratoResponseDTO registrarCredito(String accountId, BigDecimal valor) {
-        Contrato contrato = findContratoByAccountId(accountId);
-        BigDecimal novoSaldoDevedor = contrato.getSaldoDevedor().subtract(valor);
-
-        if (novoSaldoDevedor.compareTo(BigDecimal.ZERO) < 0) {
-            novoSaldoDevedor = BigDecimal.ZERO;
-        }
+        return shardRouter.executar(accountId, () -> {
+            Contrato contrato = findContratoByAccountId(accountId);
+            BigDecimal novoSaldoDevedor = contrato.getSaldoDevedor().subtract(valor);
+
+            if (novoSaldoDevedor.compareTo(BigDecimal.ZERO) < 0) {
+                novoSaldoDevedor = BigDecimal.ZERO;
+            }
+
+            contrato.setSaldoDevedor(novoSaldoDevedor);
+            Contrato savedContrato = salvar(contrato);
+            return toResponseDTO(savedContrato);
+        });
+    }
 
-        contrato.setSaldoDevedor(novoSaldoDevedor);
+    /**
+     * Grava o contrato no shard da conta e, durante um rebalanceamento, replica a gravação no shard de destino.
+     */
+    private Contrato salvar(Contrato contrato) {
         Contrato savedContrato = contratoRepository.save(contrato);
-        return toResponseDTO(savedContrato);
+        shardRouter.replicarGravacao(savedContrato);
+        return savedContrato;
     }
     
     private Contrato findContratoByAccountId(String accountId) {
         return contratoRepository.findByAccountId(accountId)
-                .orElseThrow(() -> new ResourceNotFoundException("Contrato não encontrado para o accountId: " + accountId));
+                .orElseThrow(() -> ResourceNotFoundException.contrato(accountId));
     }
 
     private ContratoResponseDTO toResponseDTO(Contrato contrato) {
@@ -0,0 +1,286 @@
+package com.itau.api.service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import com.itau.api.dto.RebalanceamentoResponseDTO;
+import com.itau.api.dto.StatusShardsResponseDTO;
+import com.itau.api.model.Contrato;
+import com.itau.api.shard.FaseMigracao;
+import com.itau.api.shard.ShardDataSources;
+import com.itau.api.shard.ShardRouter;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Conduz o rebalanceamento de contratos entre shards, em fases executadas pelo operador:
+ * <ol>
+ * <li>{@link #iniciarMigracao(List)}, em todos os nós: anuncia o novo anel e liga o espelhamento das gravações;</li>
+ * <li>{@link #copiarContratos()}, em um nó: copia para o novo dono os contratos que mudam de shard;</li>
+ * <li>{@link #congelar()}, em todos os nós: recusa as operações sobre contas que mudam de shard;</li>
+ * <li>{@link #ressincronizarContratos()}, em um nó: copia novamente essas contas do shard atual;</li>
+ * <li>{@link #concluirCutover()}, em todos os nós: torna o novo anel autoritativo;</li>
+ * <li>{@link #finalizarMigracao()}, em todos os nós: desliga o espelhamento no anel anterior;</li>
+ * <li>{@link #limparContratos()}, em um nó: remove as cópias que ficaram nos shards antigos.</li>
+ * </ol>
+ * Todas as fases são idempotentes e podem ser repetidas em caso de falha.
+ */
+@Slf4j
+@Service
+@AllArgsConstructor
+public class RebalanceamentoService {
+
+    private static final int TAMANHO_PAGINA = 500;
+    private static final String SQL_SELECT = """
+            SELECT id, account_id, valor_limite, saldo_devedor, version, agendamento_aplicado_em,
+                agendamento_aplicado_id FROM contratos""";
+    private static final String SQL_PAGINA = SQL_SELECT + " WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String SQL_POR_CONTA = SQL_SELECT + " WHERE account_id = ?";
+    private static final String SQL_INSERT_SE_AUSENTE = ShardRouter.SQL_INSERT_COLUNAS + " ON CONFLICT (account_id) DO NOTHING";
+    private static final String SQL_SOBRESCREVER = ShardRouter.SQL_INSERT_COLUNAS + """
+
+            ON CONFLICT (account_id) DO UPDATE SET id = EXCLUDED.id, valor_limite = EXCLUDED.valor_limite,
+                saldo_devedor = EXCLUDED.saldo_devedor, version = EXCLUDED.version,
+                agendamento_aplicado_em = EXCLUDED.agendamento_aplicado_em,
+                agendamento_aplicado_id = EXCLUDED.agendamento_aplicado_id""";
+    private static final String SQL_DELETE_CONTA = "DELETE FROM contratos WHERE account_id = ?";
+
+    private static final RowMapper<Contrato> CONTRATO_MAPPER = (rs, linha) -> Contrato.builder()
+            .id(rs.getObject("id", UUID.class))
+            .accountId(rs.getString("account_id"))
+            .valorLimite(rs.getBigDecimal("valor_limite"))
+            .saldoDevedor(rs.getBigDecimal("saldo_devedor"))
+            .version(rs.getLong("version"))
+            .agendamentoAplicadoEm(instante(rs.getTimestamp("agendamento_aplicado_em")))
+            .agendamentoAplicadoId(rs.getObject("agendamento_aplicado_id", UUID.class))
+            .build();
+
+    private final ShardRouter shardRouter;
+
+    /**
+     * @return A topologia atual deste nó.
+     */
+    public StatusShardsResponseDTO status() {
+        ShardRouter.Topologia topologia = shardRouter.topologia();
+        if (topologia == null) {
+            return StatusShardsResponseDTO.builder().nodeId(shardRouter.nodeId()).build();
+        }
+        return StatusShardsResponseDTO.builder()
+                .nodeId(shardRouter.nodeId())
+                .fase(topologia.fase())
+                .shards(topologia.anel().shards())
+                .shardsEspelho(topologia.espelho() != null ? topologia.espelho().shards() : null)
+                .shardsLocais(shardRouter.shardsConfigurados().stream().filter(shardRouter::isNodeLocal).toList())
+                .contasDivergentes(shardRouter.divergentes().size())
+                .build();
+    }
+
+    /**
+     * Anuncia o novo anel neste nó e passa a espelhar nele as gravações.
+     *
+     * @param shards Os shards que compõem o novo anel.
+     * @return A topologia resultante.
+     * @throws IllegalStateException se o sharding estiver desabilitado ou já houver um rebalanceamento em andamento.
+     * @throws IllegalArgumentException se algum shard não estiver configurado.
+     */
+    public StatusShardsResponseDTO iniciarMigracao(List<String> shards) {
+        shardRouter.iniciarMigracao(shards);
+        return status();
+    }
+
+    /**
+     * Copia para o shard de destino os contratos cujo dono muda no novo anel. Contratos já presentes
+     * no destino (gravados pelo espelhamento) não são sobrescritos; se o contrato deixar de existir na
+     * origem durante a cópia, a cópia é removida.
+     *
+     * @return A quantidade de contratos copiados.
+     * @throws IllegalStateException se a topologia não estiver em {@link FaseMigracao#DUAL_WRITE}.
+     */
+    public RebalanceamentoResponseDTO copiarContratos() {
+        ShardRouter.Topologia topologia = shardRouter.exigirFase(FaseMigracao.DUAL_WRITE);
+        ShardDataSources dataSources = shardRouter.dataSources();
+
+        long copiados = 0;
+        for (String origem : shardRouter.shardsConfigurados()) {
+            JdbcTemplate jdbcOrigem = dataSources.jdbc(origem);
+            List<Contrato> movidos = new ArrayList<>();
+            percorrer(jdbcOrigem, contrato -> {
+                String dono = topologia.anel().shardDe(contrato.getAccountId());
+                if (dono.equals(origem) && !dono.equals(topologia.espelho().shardDe(contrato.getAccountId()))) {
+                    movidos.add(contrato);
+                }
+            });
+
+            for (Contrato contrato : movidos) {
+                JdbcTemplate jdbcDestino = dataSources.jdbc(topologia.espelho().shardDe(contrato.getAccountId()));
+                copiados += jdbcDestino.update(SQL_INSERT_SE_AUSENTE, ShardRouter.colunas(contrato));
+                if (buscar(jdbcOrigem, contrato.getAccountId()).isEmpty()) {
+                    jdbcDestino.update(ShardRouter.SQL_DELETE, contrato.getId(), contrato.getAccountId());
+                }
+            }
+        }
+        log.info("Cópia do rebalanceamento concluída: {} contratos copiados.", copiados);
+        return RebalanceamentoResponseDTO.builder().fase(topologia.fase()).contratos(copiados).build();
+    }
+
+    /**
+     * Passa a recusar neste nó as operações sobre contas que mudam de shard.
+     *
+     * @return A topologia resultante.
+     * @throws IllegalStateException se a topologia não estiver em {@link FaseMigracao#DUAL_WRITE}.
+     */
+    public StatusShardsResponseDTO congelar() {
+        shardRouter.congelar();
+        return status();
+    }
+
+    /**
+     * Com todos os nós congelados, faz o novo dono de cada conta que muda de shard refletir exatamente o
+     * shard atual: cópias diferentes são sobrescritas e cópias sem contrato na origem são removidas. Ao
+     * final, o cutover é liberado em todos os nós.
+     *
+     * @return A quantidade de contratos sobrescritos ou removidos no destino.
+     * @throws IllegalStateException se algum nó ainda não estiver congelado ou se o cutover já tiver começado.
+     */
+    public RebalanceamentoResponseDTO ressincronizarContratos() {
+        ShardRouter.Topologia topologia = shardRouter.iniciarRessincronizacao();
+        ShardDataSources dataSources = shardRouter.dataSources();
+        // Só as divergentes lidas antes da varredura são cobertas por ela
+        Set<String> divergentes = shardRouter.divergentes();
+
+        long ressincronizados = 0;
+        for (String shard : shardRouter.shardsConfigurados()) {
+            JdbcTemplate jdbc = dataSources.jdbc(shard);
+            List<Contrato> movidos = new ArrayList<>();
+            List<Contrato> copias = new ArrayList<>();
+            percorrer(jdbc, contrato -> {
+                String dono = topologia.anel().shardDe(contrato.getAccountId());
+                String destino = topologia.espelho().shardDe(contrato.getAccountId());
+                if (dono.equals(shard) && !destino.equals(shard)) {
+                    movidos.add(contrato);
+                } else if (destino.equals(shard) && !dono.equals(shard)) {
+                    copias.add(contrato);
+                }
+            });
+
+            for (Contrato contrato : movidos) {
+                JdbcTemplate jdbcDestino = dataSources.jdbc(topologia.espelho().shardDe(contrato.getAccountId()));
+                if (!buscar(jdbcDestino, contrato.getAccountId()).filter(contrato::equals).isPresent()) {
+                    ressincronizados += jdbcDestino.update(SQL_SOBRESCREVER, ShardRouter.colunas(contrato));
+                }
+            }
+            for (Contrato copia : copias) {
+                JdbcTemplate jdbcOrigem = dataSources.jdbc(topologia.anel().shardDe(copia.getAccountId()));
+                if (buscar(jdbcOrigem, copia.getAccountId()).isEmpty()) {
+                    ressincronizados += jdbc.update(ShardRouter.SQL_DELETE, copia.getId(), copia.getAccountId());
+                }
+            }
+        }
+        shardRouter.concluirRessincronizacao(divergentes);
+        log.info("Ressincronização do rebalanceamento concluída: {} contratos ressincronizados.", ressincronizados);
+        return RebalanceamentoResponseDTO.builder().fase(topologia.fase()).contratos(ressincronizados).build();
+    }
+
+    /**
+     * Torna o novo anel autoritativo neste nó. As contas divergentes até o congelamento já foram
+     * corrigidas pela ressincronização.
+     *
+     * @return A topologia resultante.
+     * @throws IllegalStateException se a topologia não estiver em {@link FaseMigracao#CONGELADA} ou se a
+     *         ressincronização ainda não tiver sido concluída.
+     */
+    public StatusShardsResponseDTO concluirCutover() {
+        shardRouter.concluirCutover();
+        return status();
+    }
+
+    /**
+     * Reconcilia as contas divergentes e desliga o espelhamento no anel anterior neste nó.
+     *
+     * @return A topologia resultante.
+     * @throws IllegalStateException se a topologia não estiver em {@link FaseMigracao#CUTOVER}.
+     */
+    public StatusShardsResponseDTO finalizarMigracao() {
+        reconciliarDivergentes(shardRouter.exigirFase(FaseMigracao.CUTOVER));
+        shardRouter.finalizarMigracao();
+        return status();
+    }
+
+    /**
+     * Remove de cada shard os contratos que pertencem a outro shard no anel atual.
+     * Deve ser executada somente depois que todos os nós finalizaram a migração.
+     *
+     * @return A quantidade de contratos removidos.
+     * @throws IllegalStateException se a topologia não estiver em {@link FaseMigracao#ESTAVEL}.
+     */
+    public RebalanceamentoResponseDTO limparContratos() {
+        ShardRouter.Topologia topologia = shardRouter.exigirFase(FaseMigracao.ESTAVEL);
+        ShardDataSources dataSources = shardRouter.dataSources();
+
+        long removidos = 0;
+        for (String shard : shardRouter.shardsConfigurados()) {
+            JdbcTemplate jdbc = dataSources.jdbc(shard);
+            List<Contrato> orfaos = new ArrayList<>();
+            percorrer(jdbc, contrato -> {
+                if (!shard.equals(topologia.anel().shardDe(contrato.getAccountId()))) {
+                    orfaos.add(contrato);
+                }
+            });
+            for (Contrato contrato : orfaos) {
+                removidos += jdbc.update(ShardRouter.SQL_DELETE, contrato.getId(), contrato.getAccountId());
+            }
+        }
+        log.info("Limpeza do rebalanceamento concluída: {} contratos removidos.", removidos);
+        return RebalanceamentoResponseDTO.builder().fase(topologia.fase()).contratos(removidos).build();
+    }
+
+    private void reconciliarDivergentes(ShardRouter.Topologia topologia) {
+        ShardDataSources dataSources = shardRouter.dataSources();
+        for (String accountId : List.copyOf(shardRouter.divergentes())) {
+            shardRouter.removerDivergente(accountId);
+            try {
+                JdbcTemplate jdbcDestino = dataSources.jdbc(topologia.espelho().shardDe(accountId));
+                Optional<Contrato> contrato = buscar(dataSources.jdbc(topologia.anel().shardDe(accountId)), accountId);
+                if (contrato.isPresent()) {
+                    jdbcDestino.update(ShardRouter.SQL_UPSERT, ShardRouter.colunas(contrato.get()));
+                } else {
+                    jdbcDestino.update(SQL_DELETE_CONTA, accountId);
+                }
+            } catch (RuntimeException ex) {
+                shardRouter.registrarDivergente(accountId);
+                throw ex;
+            }
+        }
+    }
+
+    private static void percorrer(JdbcTemplate jdbc, Consumer<Contrato> consumidor) {
+        UUID ultimo = new UUID(0, 0);
+        List<Contrato> pagina;
+        do {
+            pagina = jdbc.query(SQL_PAGINA, CONTRATO_MAPPER, ultimo, TAMANHO_PAGINA);
+            pagina.forEach(consumidor);
+            if (!pagina.isEmpty()) {
+                ultimo = pagina.get(pagina.size() - 1).getId();
+            }
+        } while (pagina.size() == TAMANHO_PAGINA);
+    }
+
+    private static Instant instante(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+
+    private static Optional<Contrato> buscar(JdbcTemplate jdbc, String accountId) {
+        return jdbc.query(SQL_POR_CONTA, CONTRATO_MAPPER, accountId).stream().findFirst();
+    }
+}
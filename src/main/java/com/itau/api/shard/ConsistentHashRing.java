@@ -0,0 +1,63 @@
+package com.itau.api.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Anel de hash consistente que associa chaves (accountId) a shards.
+ * <p>
+ * Cada shard ocupa {@code virtualNodes} posições no anel; uma chave pertence ao primeiro shard
+ * encontrado no sentido horário a partir do seu hash. Ao adicionar ou remover um shard, apenas
+ * as chaves das posições afetadas mudam de dono (cerca de 1/N delas).
+ */
+public final class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> anel = new TreeMap<>();
+    private final List<String> shards;
+
+    public ConsistentHashRing(Collection<String> shards, int virtualNodes) {
+        if (shards.isEmpty() || virtualNodes <= 0) {
+            throw new IllegalArgumentException("O anel precisa de ao menos um shard e de nós virtuais positivos.");
+        }
+        this.shards = List.copyOf(shards);
+        for (String shard : this.shards) {
+            for (int i = 0; i < virtualNodes; i++) {
+                anel.putIfAbsent(hash(shard + "#" + i), shard);
+            }
+        }
+    }
+
+    /**
+     * @param chave A chave a ser localizada, normalmente o accountId.
+     * @return O shard dono da chave.
+     */
+    public String shardDe(String chave) {
+        Map.Entry<Long, String> entrada = anel.ceilingEntry(hash(chave));
+        return entrada != null ? entrada.getValue() : anel.firstEntry().getValue();
+    }
+
+    public List<String> shards() {
+        return shards;
+    }
+
+    /**
+     * FNV-1a de 64 bits seguido da finalização do MurmurHash3, estável entre JVMs e instâncias.
+     */
+    static long hash(String chave) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : chave.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
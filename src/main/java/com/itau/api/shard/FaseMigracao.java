@@ -0,0 +1,18 @@
+package com.itau.api.shard;
+
+/**
+ * Fases do rebalanceamento de contas entre shards.
+ */
+public enum FaseMigracao {
+    /** Topologia estável: cada conta é gravada apenas no seu shard. */
+    ESTAVEL,
+    /** Nova topologia anunciada: o shard atual continua autoritativo e as gravações são espelhadas no shard de destino. */
+    DUAL_WRITE,
+    /**
+     * Operações sobre contas que mudam de shard são recusadas (HTTP 503) enquanto elas são ressincronizadas
+     * a partir do shard atual; as demais contas seguem normalmente.
+     */
+    CONGELADA,
+    /** Nova topologia autoritativa: as gravações são espelhadas no shard anterior até que todos os nós façam o cutover. */
+    CUTOVER
+}
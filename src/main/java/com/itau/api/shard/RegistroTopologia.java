@@ -0,0 +1,113 @@
+package com.itau.api.shard;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Estado do rebalanceamento gravado no shard padrão, para que um nó reiniciado volte à topologia em
+ * que estava em vez de recalculá-la a partir da configuração.
+ * <p>
+ * Cada nó grava a sua fase e os seus anéis em {@code shard_topologia}; as contas divergentes ficam em
+ * {@code shard_divergentes} e são compartilhadas por todos os nós. A marca {@code ressincronizada} só é
+ * ligada quando todos os nós já estão congelados e as contas em migração foram copiadas do shard atual; é
+ * ela que libera o cutover de cada nó. As tabelas são criadas por
+ * {@code db/shard-topologia.sql}.
+ */
+public class RegistroTopologia {
+
+    private static final String SEPARADOR = ",";
+    private static final String SQL_LISTAR =
+            "SELECT node_id, fase, anel, espelho, virtual_nodes FROM shard_topologia";
+    private static final String SQL_BUSCAR = SQL_LISTAR + " WHERE node_id = ?";
+    private static final String SQL_GRAVAR = """
+            INSERT INTO shard_topologia (node_id, fase, anel, espelho, virtual_nodes, atualizado_em)
+            VALUES (?, ?, ?, ?, ?, now())
+            ON CONFLICT (node_id) DO UPDATE SET fase = EXCLUDED.fase, anel = EXCLUDED.anel, espelho = EXCLUDED.espelho,
+                virtual_nodes = EXCLUDED.virtual_nodes, ressincronizada = FALSE, atualizado_em = EXCLUDED.atualizado_em""";
+    private static final String SQL_GRAVAR_CUTOVER = """
+            UPDATE shard_topologia SET fase = 'CUTOVER', anel = ?, espelho = ?, ressincronizada = FALSE, atualizado_em = now()
+            WHERE node_id = ? AND fase = 'CONGELADA' AND ressincronizada""";
+    private static final String SQL_MARCAR_RESSINCRONIZADA =
+            "UPDATE shard_topologia SET ressincronizada = ? WHERE fase = 'CONGELADA'";
+    private static final String SQL_DIVERGENTES = "SELECT account_id FROM shard_divergentes";
+    private static final String SQL_REGISTRAR_DIVERGENTE = """
+            INSERT INTO shard_divergentes (account_id, registrado_em) VALUES (?, now())
+            ON CONFLICT (account_id) DO NOTHING""";
+    private static final String SQL_REMOVER_DIVERGENTE = "DELETE FROM shard_divergentes WHERE account_id = ?";
+
+    private static final RowMapper<TopologiaGravada> TOPOLOGIA_MAPPER = (rs, linha) -> new TopologiaGravada(
+            rs.getString("node_id"),
+            FaseMigracao.valueOf(rs.getString("fase")),
+            lerShards(rs.getString("anel")),
+            lerShards(rs.getString("espelho")),
+            rs.getInt("virtual_nodes"));
+
+    private final JdbcTemplate jdbc;
+
+    /**
+     * @param nodeId O nó que gravou a topologia.
+     * @param fase A fase do rebalanceamento no nó.
+     * @param anel Os shards do anel autoritativo.
+     * @param espelho Os shards do anel espelho, ou {@code null} fora de um rebalanceamento.
+     * @param virtualNodes A quantidade de nós virtuais usada para montar os anéis.
+     */
+    public record TopologiaGravada(String nodeId, FaseMigracao fase, List<String> anel, List<String> espelho,
+            int virtualNodes) {
+    }
+
+    public RegistroTopologia(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public Optional<TopologiaGravada> buscar(String nodeId) {
+        return jdbc.query(SQL_BUSCAR, TOPOLOGIA_MAPPER, nodeId).stream().findFirst();
+    }
+
+    public List<TopologiaGravada> listar() {
+        return jdbc.query(SQL_LISTAR, TOPOLOGIA_MAPPER);
+    }
+
+    public void gravar(String nodeId, FaseMigracao fase, List<String> anel, List<String> espelho, int virtualNodes) {
+        jdbc.update(SQL_GRAVAR, nodeId, fase.name(), escreverShards(anel), escreverShards(espelho), virtualNodes);
+    }
+
+    /**
+     * Grava o cutover do nó apenas se ele estiver congelado e a ressincronização tiver sido concluída.
+     *
+     * @return {@code false} se a ressincronização ainda não foi concluída para o nó.
+     */
+    public boolean gravarCutover(String nodeId, List<String> anel, List<String> espelho) {
+        return jdbc.update(SQL_GRAVAR_CUTOVER, escreverShards(anel), escreverShards(espelho), nodeId) == 1;
+    }
+
+    /** Liga ou desliga a marca de ressincronização de todos os nós congelados. */
+    public void marcarRessincronizada(boolean ressincronizada) {
+        jdbc.update(SQL_MARCAR_RESSINCRONIZADA, ressincronizada);
+    }
+
+    public Set<String> divergentes() {
+        return new HashSet<>(jdbc.queryForList(SQL_DIVERGENTES, String.class));
+    }
+
+    public void registrarDivergente(String accountId) {
+        jdbc.update(SQL_REGISTRAR_DIVERGENTE, accountId);
+    }
+
+    public void removerDivergente(String accountId) {
+        jdbc.update(SQL_REMOVER_DIVERGENTE, accountId);
+    }
+
+    private static String escreverShards(List<String> shards) {
+        return shards == null ? null : String.join(SEPARADOR, shards);
+    }
+
+    private static List<String> lerShards(String shards) {
+        return shards == null ? null : Arrays.asList(shards.split(SEPARADOR));
+    }
+}
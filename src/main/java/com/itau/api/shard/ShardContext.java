@@ -0,0 +1,24 @@
+package com.itau.api.shard;
+
+/**
+ * Shard selecionado para a thread atual. Sem shard definido, o roteamento usa o shard padrão.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<String> SHARD_ATUAL = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static String atual() {
+        return SHARD_ATUAL.get();
+    }
+
+    static void definir(String shard) {
+        if (shard == null) {
+            SHARD_ATUAL.remove();
+        } else {
+            SHARD_ATUAL.set(shard);
+        }
+    }
+}
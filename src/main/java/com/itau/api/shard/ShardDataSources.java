@@ -0,0 +1,58 @@
+package com.itau.api.shard;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Bancos de dados dos shards configurados, indexados pelo identificador do shard.
+ */
+public class ShardDataSources implements Closeable {
+
+    private final Map<String, DataSource> dataSources;
+    private final Map<String, JdbcTemplate> templates = new LinkedHashMap<>();
+
+    public ShardDataSources(Map<String, DataSource> dataSources) {
+        this.dataSources = Collections.unmodifiableMap(new LinkedHashMap<>(dataSources));
+        this.dataSources.forEach((shard, dataSource) -> templates.put(shard, new JdbcTemplate(dataSource)));
+    }
+
+    public Map<String, DataSource> dataSources() {
+        return dataSources;
+    }
+
+    /**
+     * @return O primeiro shard configurado, que guarda as tabelas não particionadas.
+     */
+    public String shardPadrao() {
+        return dataSources.keySet().iterator().next();
+    }
+
+    /**
+     * @param shard O identificador do shard.
+     * @return Um {@link JdbcTemplate} ligado diretamente ao banco do shard, sem passar pelo roteamento.
+     * @throws IllegalArgumentException se o shard não estiver configurado.
+     */
+    public JdbcTemplate jdbc(String shard) {
+        JdbcTemplate template = templates.get(shard);
+        if (template == null) {
+            throw new IllegalArgumentException("Shard não configurado: " + shard);
+        }
+        return template;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource dataSource : dataSources.values()) {
+            if (dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
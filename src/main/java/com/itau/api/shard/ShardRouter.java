@@ -0,0 +1,552 @@
+package com.itau.api.shard;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import com.itau.api.exception.ShardCongeladoException;
+import com.itau.api.exception.ShardIncorretoException;
+import com.itau.api.model.Contrato;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decide em qual shard cada conta é lida e gravada.
+ * <p>
+ * O dono de uma conta é dado pelo {@link ConsistentHashRing} da topologia atual. Operações de uma
+ * conta cujo shard é atendido por outro nó são recusadas com {@link ShardIncorretoException}; as
+ * demais são executadas com o shard definido em {@link ShardContext}, o que faz o
+ * {@link ShardRoutingDataSource} usar o banco correto.
+ * <p>
+ * Durante um rebalanceamento existe um segundo anel (espelho), e as gravações de contas cujo dono
+ * muda entre os anéis são replicadas no shard do espelho. As réplicas acontecem depois da gravação no
+ * shard autoritativo e podem chegar fora de ordem; por isso só sobrescrevem uma cópia de versão menor
+ * e só removem a mesma instância do contrato. Uma réplica que falha não desfaz a gravação no shard
+ * autoritativo: a conta fica registrada como divergente e é reconciliada na próxima troca de fase.
+ * <p>
+ * Antes do cutover, todos os nós congelam as contas que mudam de dono ({@link ShardCongeladoException}),
+ * e elas são ressincronizadas a partir do shard atual. Cada operação segura a fase em que começou até
+ * terminar, incluindo a réplica; uma troca de fase espera as operações em andamento, de modo que uma
+ * gravação iniciada antes do congelamento não chega ao shard depois dele. O cutover só é gravado depois dessa
+ * ressincronização, de modo que nenhuma gravação no anel antigo fica para trás do novo anel.
+ * <p>
+ * A topologia e as contas divergentes são gravadas no {@link RegistroTopologia} a cada troca de fase.
+ * Na inicialização, o nó retoma a topologia gravada; a configuração ({@code sharding.shards[].ativo})
+ * é usada apenas na primeira inicialização, e a aplicação não sobe se ela contradisser a topologia gravada.
+ * Com o sharding desabilitado, todas as operações são executadas diretamente no banco único.
+ */
+@Slf4j
+@Component
+public class ShardRouter {
+
+    /** Colunas de {@code contratos} copiadas entre shards, na ordem de {@link #colunas(Contrato)}. */
+    public static final String SQL_INSERT_COLUNAS = """
+            INSERT INTO contratos (id, account_id, valor_limite, saldo_devedor, version,
+                agendamento_aplicado_em, agendamento_aplicado_id) VALUES (?, ?, ?, ?, ?, ?, ?)""";
+    public static final String SQL_UPSERT = SQL_INSERT_COLUNAS + """
+
+            ON CONFLICT (account_id) DO UPDATE SET valor_limite = EXCLUDED.valor_limite,
+                saldo_devedor = EXCLUDED.saldo_devedor, version = EXCLUDED.version,
+                agendamento_aplicado_em = EXCLUDED.agendamento_aplicado_em,
+                agendamento_aplicado_id = EXCLUDED.agendamento_aplicado_id
+            WHERE contratos.version < EXCLUDED.version""";
+    public static final String SQL_DELETE = "DELETE FROM contratos WHERE id = ? AND account_id = ?";
+
+    /** Espera máxima pelas operações em andamento antes de uma troca de fase. */
+    static final Duration ESPERA_OPERACOES = Duration.ofSeconds(30);
+
+    private final ShardingProperties properties;
+    private final ShardDataSources dataSources;
+    private final RegistroTopologia registro;
+    private final Map<String, String> nodePorShard = new LinkedHashMap<>();
+    /** Contas divergentes que não puderam ser gravadas no registro. */
+    private final Set<String> divergentes = ConcurrentHashMap.newKeySet();
+    /** Operações em andamento seguram a leitura; as trocas de fase usam a escrita para esperar por elas. */
+    private final ReentrantReadWriteLock travaFase = new ReentrantReadWriteLock();
+
+    private volatile Topologia topologia;
+
+    /**
+     * @param fase A fase atual do rebalanceamento.
+     * @param anel O anel autoritativo, usado para leituras e gravações.
+     * @param espelho O anel que recebe cópias das gravações, ou {@code null} fora de um rebalanceamento.
+     */
+    public record Topologia(FaseMigracao fase, ConsistentHashRing anel, ConsistentHashRing espelho) {
+    }
+
+    @Autowired
+    public ShardRouter(ShardingProperties properties, ObjectProvider<ShardDataSources> dataSources,
+            ObjectProvider<RegistroTopologia> registro) {
+        this(properties, dataSources.getIfAvailable(), registro.getIfAvailable());
+    }
+
+    ShardRouter(ShardingProperties properties, ShardDataSources dataSources, RegistroTopologia registro) {
+        this.properties = properties;
+        this.dataSources = dataSources;
+        this.registro = registro;
+        if (properties.enabled()) {
+            validar(properties);
+            properties.shards().forEach(shard -> nodePorShard.put(shard.id(), shard.node()));
+            this.topologia = carregarTopologia();
+        }
+    }
+
+    /**
+     * @return Um roteador sem sharding, que executa todas as operações no banco único.
+     */
+    public static ShardRouter semSharding() {
+        return new ShardRouter(ShardingProperties.desabilitado(), (ShardDataSources) null, null);
+    }
+
+    public boolean habilitado() {
+        return properties.enabled();
+    }
+
+    public String nodeId() {
+        return properties.nodeId();
+    }
+
+    public Topologia topologia() {
+        return topologia;
+    }
+
+    public ShardDataSources dataSources() {
+        return dataSources;
+    }
+
+    /**
+     * Executa uma operação sobre a conta no shard que a atende.
+     *
+     * @param accountId O identificador da conta.
+     * @param operacao A operação a ser executada.
+     * @return O resultado da operação.
+     * @throws ShardIncorretoException se o shard da conta for atendido por outro nó.
+     * @throws ShardCongeladoException se a conta estiver mudando de shard com o rebalanceamento congelado.
+     */
+    public <T> T executar(String accountId, Supplier<T> operacao) {
+        if (!habilitado()) {
+            return operacao.get();
+        }
+        Lock leitura = travaFase.readLock();
+        leitura.lock();
+        try {
+            Topologia atual = topologia;
+            String shard = atual.anel().shardDe(accountId);
+            if (atual.fase() == FaseMigracao.CONGELADA && !shard.equals(atual.espelho().shardDe(accountId))) {
+                throw ShardCongeladoException.INSTANCIA;
+            }
+            verificarNodeLocal(shard);
+
+            String anterior = ShardContext.atual();
+            ShardContext.definir(shard);
+            try {
+                return operacao.get();
+            } finally {
+                ShardContext.definir(anterior);
+            }
+        } finally {
+            leitura.unlock();
+        }
+    }
+
+    public void executar(String accountId, Runnable operacao) {
+        executar(accountId, () -> {
+            operacao.run();
+            return null;
+        });
+    }
+
+    /**
+     * @param accountId O identificador da conta.
+     * @return {@code true} se a conta é atendida por este nó.
+     */
+    public boolean isLocal(String accountId) {
+        return !habilitado() || isNodeLocal(topologia.anel().shardDe(accountId));
+    }
+
+    /**
+     * Replica a gravação de um contrato no shard do anel espelho, caso ele seja diferente do shard atual.
+     *
+     * @param contrato O contrato gravado.
+     */
+    public void replicarGravacao(Contrato contrato) {
+        String destino = shardEspelho(contrato.getAccountId());
+        if (destino != null) {
+            replicar(contrato.getAccountId(), destino,
+                    () -> dataSources.jdbc(destino).update(SQL_UPSERT, colunas(contrato)));
+        }
+    }
+
+    /**
+     * Replica a remoção de um contrato no shard do anel espelho, caso ele seja diferente do shard atual.
+     * Apenas o mesmo contrato (mesmo id) é removido, e não um contrato criado depois para a mesma conta.
+     *
+     * @param contrato O contrato removido.
+     */
+    public void replicarRemocao(Contrato contrato) {
+        String destino = shardEspelho(contrato.getAccountId());
+        if (destino != null) {
+            replicar(contrato.getAccountId(), destino,
+                    () -> dataSources.jdbc(destino).update(SQL_DELETE, contrato.getId(), contrato.getAccountId()));
+        }
+    }
+
+    /**
+     * @param contrato O contrato a ser copiado.
+     * @return Os valores das colunas de {@link #SQL_INSERT_COLUNAS}.
+     */
+    public static Object[] colunas(Contrato contrato) {
+        return new Object[] { contrato.getId(), contrato.getAccountId(), contrato.getValorLimite(),
+                contrato.getSaldoDevedor(), contrato.getVersion(),
+                contrato.getAgendamentoAplicadoEm() != null ? Timestamp.from(contrato.getAgendamentoAplicadoEm()) : null,
+                contrato.getAgendamentoAplicadoId() };
+    }
+
+    /**
+     * @return As contas cuja réplica no anel espelho falhou e ainda não foi reconciliada, em qualquer nó.
+     */
+    public Set<String> divergentes() {
+        Set<String> todas = new HashSet<>(divergentes);
+        if (habilitado()) {
+            todas.addAll(registro.divergentes());
+        }
+        return todas;
+    }
+
+    /**
+     * Retira a conta das divergentes. Deve ser chamado antes de reconciliar a réplica, para que uma
+     * falha registrada durante a reconciliação não se perca.
+     *
+     * @param accountId O identificador da conta.
+     */
+    public void removerDivergente(String accountId) {
+        registro.removerDivergente(accountId);
+        divergentes.remove(accountId);
+    }
+
+    /**
+     * Registra que a réplica da conta no anel espelho não reflete o shard autoritativo.
+     *
+     * @param accountId O identificador da conta.
+     */
+    public void registrarDivergente(String accountId) {
+        try {
+            registro.registrarDivergente(accountId);
+        } catch (DataAccessException ex) {
+            log.error("Falha ao gravar a conta divergente {}; mantida apenas neste nó: {}", accountId, ex.getMessage());
+            divergentes.add(accountId);
+        }
+    }
+
+    public List<String> shardsConfigurados() {
+        return List.copyOf(nodePorShard.keySet());
+    }
+
+    /**
+     * Anuncia a nova topologia: o anel atual segue autoritativo e as gravações passam a ser espelhadas no novo anel.
+     *
+     * @param shards Os shards que compõem o novo anel.
+     * @throws IllegalStateException se o sharding estiver desabilitado ou se já houver um rebalanceamento em andamento.
+     * @throws IllegalArgumentException se algum shard não estiver configurado.
+     */
+    public synchronized Topologia iniciarMigracao(List<String> shards) {
+        Topologia atual = exigirFase(FaseMigracao.ESTAVEL);
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("O novo anel deve ter ao menos um shard.");
+        }
+        for (String shard : shards) {
+            if (!nodePorShard.containsKey(shard)) {
+                throw new IllegalArgumentException("Shard não configurado: " + shard);
+            }
+        }
+        return atualizar(new Topologia(FaseMigracao.DUAL_WRITE, atual.anel(), novoAnel(shards)));
+    }
+
+    /**
+     * Passa a recusar as operações sobre contas que mudam de shard, para que elas possam ser
+     * ressincronizadas sem novas gravações. Retorna depois que as operações iniciadas em
+     * {@link FaseMigracao#DUAL_WRITE} terminarem.
+     *
+     * @throws IllegalStateException se a topologia não estiver em {@link FaseMigracao#DUAL_WRITE} ou se as
+     *         operações em andamento não terminarem em {@link #ESPERA_OPERACOES}.
+     */
+    public synchronized Topologia congelar() {
+        Topologia atual = exigirFase(FaseMigracao.DUAL_WRITE);
+        return atualizar(new Topologia(FaseMigracao.CONGELADA, atual.anel(), atual.espelho()));
+    }
+
+    /**
+     * Prepara a ressincronização das contas congeladas, desligando a marca de ressincronização de todos os nós.
+     *
+     * @return A topologia congelada deste nó.
+     * @throws IllegalStateException se algum nó ainda não estiver congelado com os mesmos anéis, ou se o
+     *         cutover já tiver começado em algum nó.
+     */
+    public synchronized Topologia iniciarRessincronizacao() {
+        Topologia atual = exigirFase(FaseMigracao.CONGELADA);
+        exigirSemCutover();
+        registro.marcarRessincronizada(false);
+        try {
+            exigirSemCutover();
+        } catch (IllegalStateException ex) {
+            // Um nó concluiu o cutover com a ressincronização anterior, que continua válida para os demais.
+            registro.marcarRessincronizada(true);
+            throw ex;
+        }
+
+        Map<String, RegistroTopologia.TopologiaGravada> gravadas = new LinkedHashMap<>();
+        registro.listar().forEach(gravada -> gravadas.put(gravada.nodeId(), gravada));
+        Set<String> pendentes = new TreeSet<>();
+        for (String node : nodesEsperados()) {
+            RegistroTopologia.TopologiaGravada gravada = gravadas.get(node);
+            if (gravada == null || gravada.fase() != FaseMigracao.CONGELADA
+                    || !mesmosShards(gravada.anel(), atual.anel().shards())
+                    || !mesmosShards(gravada.espelho(), atual.espelho().shards())) {
+                pendentes.add(node);
+            }
+        }
+        if (!pendentes.isEmpty()) {
+            throw new IllegalStateException("Os nós " + pendentes + " ainda não estão congelados com a mesma topologia.");
+        }
+        return atual;
+    }
+
+    /**
+     * Registra que as contas congeladas foram ressincronizadas, liberando o cutover em todos os nós.
+     * Das contas divergentes informadas, são descartadas as que mudam de shard, pois foram copiadas
+     * novamente do shard atual; as registradas depois da leitura permanecem para a reconciliação.
+     *
+     * @param ressincronizadas As contas divergentes lidas antes da ressincronização.
+     */
+    public synchronized void concluirRessincronizacao(Set<String> ressincronizadas) {
+        Topologia atual = exigirFase(FaseMigracao.CONGELADA);
+        for (String accountId : ressincronizadas) {
+            if (!atual.anel().shardDe(accountId).equals(atual.espelho().shardDe(accountId))) {
+                removerDivergente(accountId);
+            }
+        }
+        registro.marcarRessincronizada(true);
+    }
+
+    /**
+     * Torna o novo anel autoritativo; o anel anterior passa a receber as cópias das gravações.
+     *
+     * @throws IllegalStateException se a topologia não estiver em {@link FaseMigracao#CONGELADA} ou se a
+     *         ressincronização ainda não tiver sido concluída.
+     */
+    public synchronized Topologia concluirCutover() {
+        Topologia atual = exigirFase(FaseMigracao.CONGELADA);
+        Topologia nova = new Topologia(FaseMigracao.CUTOVER, atual.espelho(), atual.anel());
+        Lock escrita = aguardarOperacoes();
+        try {
+            if (!registro.gravarCutover(properties.nodeId(), nova.anel().shards(), nova.espelho().shards())) {
+                throw new IllegalStateException("A ressincronização das contas congeladas deve ser concluída antes do cutover.");
+            }
+            topologia = nova;
+        } finally {
+            escrita.unlock();
+        }
+        return nova;
+    }
+
+    /**
+     * Encerra o espelhamento de gravações no anel anterior.
+     *
+     * @throws IllegalStateException se a topologia não estiver em {@link FaseMigracao#CUTOVER}.
+     */
+    public synchronized Topologia finalizarMigracao() {
+        Topologia atual = exigirFase(FaseMigracao.CUTOVER);
+        return atualizar(new Topologia(FaseMigracao.ESTAVEL, atual.anel(), null));
+    }
+
+    /**
+     * @return A topologia atual, caso esteja na fase esperada.
+     * @throws IllegalStateException se o sharding estiver desabilitado ou a fase for outra.
+     */
+    public Topologia exigirFase(FaseMigracao fase) {
+        if (!habilitado()) {
+            throw new IllegalStateException("Sharding desabilitado.");
+        }
+        Topologia atual = topologia;
+        if (atual.fase() != fase) {
+            throw new IllegalStateException("Operação permitida apenas na fase " + fase + "; fase atual: " + atual.fase() + ".");
+        }
+        return atual;
+    }
+
+    public boolean isNodeLocal(String shard) {
+        String node = nodePorShard.get(shard);
+        return node == null || node.isBlank() || node.equals(properties.nodeId());
+    }
+
+    private void verificarNodeLocal(String shard) {
+        if (!isNodeLocal(shard)) {
+            throw new ShardIncorretoException(shard, properties.nodes().get(nodePorShard.get(shard)));
+        }
+    }
+
+    private void exigirSemCutover() {
+        for (RegistroTopologia.TopologiaGravada gravada : registro.listar()) {
+            if (gravada.fase() == FaseMigracao.CUTOVER) {
+                throw new IllegalStateException("O nó " + gravada.nodeId()
+                        + " já concluiu o cutover; a ressincronização não pode ser repetida.");
+            }
+        }
+    }
+
+    /**
+     * @return Todos os nós conhecidos pela configuração, incluindo este.
+     */
+    private Set<String> nodesEsperados() {
+        Set<String> nodes = new TreeSet<>(properties.nodes().keySet());
+        nodes.add(properties.nodeId());
+        nodePorShard.values().stream().filter(node -> node != null && !node.isBlank()).forEach(nodes::add);
+        return nodes;
+    }
+
+    private void replicar(String accountId, String destino, Runnable replica) {
+        try {
+            replica.run();
+        } catch (DataAccessException ex) {
+            log.warn("Falha ao replicar a conta {} no shard {}; será reconciliada na próxima fase: {}",
+                    accountId, destino, ex.getMessage());
+            registrarDivergente(accountId);
+        }
+    }
+
+    private String shardEspelho(String accountId) {
+        if (!habilitado()) {
+            return null;
+        }
+        Topologia atual = topologia;
+        if (atual.espelho() == null) {
+            return null;
+        }
+        String destino = atual.espelho().shardDe(accountId);
+        return destino.equals(atual.anel().shardDe(accountId)) ? null : destino;
+    }
+
+    /**
+     * Grava a nova topologia antes de aplicá-la, para que um reinício não volte à fase anterior.
+     */
+    private Topologia atualizar(Topologia nova) {
+        Lock escrita = aguardarOperacoes();
+        try {
+            registro.gravar(properties.nodeId(), nova.fase(), nova.anel().shards(),
+                    nova.espelho() != null ? nova.espelho().shards() : null, properties.virtualNodes());
+            topologia = nova;
+        } finally {
+            escrita.unlock();
+        }
+        return nova;
+    }
+
+    /**
+     * Espera as operações em andamento terminarem e impede que novas comecem até a troca de fase.
+     *
+     * @return A trava de escrita adquirida, a ser liberada pelo chamador.
+     * @throws IllegalStateException se as operações não terminarem em {@link #ESPERA_OPERACOES}.
+     */
+    private Lock aguardarOperacoes() {
+        Lock escrita = travaFase.writeLock();
+        try {
+            if (escrita.tryLock(ESPERA_OPERACOES.toMillis(), TimeUnit.MILLISECONDS)) {
+                return escrita;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        throw new IllegalStateException("As operações em andamento não terminaram a tempo; repita a troca de fase.");
+    }
+
+    /**
+     * Retoma a topologia gravada por este nó ou, na primeira inicialização, grava a topologia configurada.
+     *
+     * @throws IllegalStateException se a topologia gravada contradisser a configuração.
+     */
+    private Topologia carregarTopologia() {
+        List<String> ativos = properties.shardsAtivos();
+        Optional<RegistroTopologia.TopologiaGravada> gravada = registro.buscar(properties.nodeId());
+        if (gravada.isEmpty()) {
+            for (RegistroTopologia.TopologiaGravada outra : registro.listar()) {
+                if (outra.fase() != FaseMigracao.ESTAVEL || !mesmosShards(outra.anel(), ativos)) {
+                    throw new IllegalStateException("O nó " + outra.nodeId() + " está na fase " + outra.fase()
+                            + " com os shards " + outra.anel() + "; um novo nó só pode entrar com a topologia estável"
+                            + " e com sharding.shards[].ativo igual a ela. Shards ativos configurados: " + ativos + ".");
+                }
+            }
+            return atualizar(new Topologia(FaseMigracao.ESTAVEL, novoAnel(ativos), null));
+        }
+
+        RegistroTopologia.TopologiaGravada atual = gravada.get();
+        validarGravada(atual, ativos);
+        log.info("Topologia retomada do registro: fase {}, anel {}, espelho {}.", atual.fase(), atual.anel(), atual.espelho());
+        return new Topologia(atual.fase(), novoAnel(atual.anel()), atual.espelho() != null ? novoAnel(atual.espelho()) : null);
+    }
+
+    private void validarGravada(RegistroTopologia.TopologiaGravada gravada, List<String> ativos) {
+        if (gravada.virtualNodes() != properties.virtualNodes()) {
+            throw new IllegalStateException("A topologia gravada usa " + gravada.virtualNodes()
+                    + " nós virtuais, mas sharding.virtual-nodes é " + properties.virtualNodes() + ".");
+        }
+        List<String> shards = new ArrayList<>(gravada.anel());
+        if (gravada.espelho() != null) {
+            shards.addAll(gravada.espelho());
+        }
+        for (String shard : shards) {
+            if (!nodePorShard.containsKey(shard)) {
+                throw new IllegalStateException("A topologia gravada usa o shard " + shard + ", que não está configurado.");
+            }
+        }
+        boolean compativel = gravada.fase() == FaseMigracao.ESTAVEL
+                ? mesmosShards(gravada.anel(), ativos)
+                : mesmosShards(gravada.anel(), ativos) || mesmosShards(gravada.espelho(), ativos);
+        if (!compativel) {
+            throw new IllegalStateException("A topologia gravada (fase " + gravada.fase() + ", anel " + gravada.anel()
+                    + ") não corresponde aos shards ativos configurados " + ativos
+                    + ". Ao concluir um rebalanceamento, atualize sharding.shards[].ativo em todos os nós.");
+        }
+    }
+
+    private static boolean mesmosShards(List<String> shards, List<String> outros) {
+        return shards != null && Set.copyOf(shards).equals(Set.copyOf(outros));
+    }
+
+    private ConsistentHashRing novoAnel(List<String> shards) {
+        return new ConsistentHashRing(shards, properties.virtualNodes());
+    }
+
+    private static void validar(ShardingProperties properties) {
+        Set<String> ids = new HashSet<>();
+        for (ShardingProperties.Shard shard : properties.shards()) {
+            if (!ids.add(shard.id())) {
+                throw new IllegalStateException("Shard duplicado na configuração: " + shard.id());
+            }
+            String node = shard.node();
+            if (node != null && !node.isBlank() && !node.equals(properties.nodeId())
+                    && !properties.nodes().containsKey(node)) {
+                throw new IllegalStateException("URL não configurada para o nó " + node + " do shard " + shard.id());
+            }
+        }
+        if (properties.shardsAtivos().isEmpty()) {
+            throw new IllegalStateException("Sharding habilitado sem shards ativos.");
+        }
+    }
+}
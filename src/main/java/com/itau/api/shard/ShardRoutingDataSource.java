@@ -0,0 +1,14 @@
+package com.itau.api.shard;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * {@code DataSource} que delega para o banco do shard definido em {@link ShardContext}.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.atual();
+    }
+}
@@ -0,0 +1,50 @@
+package com.itau.api.shard;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração do particionamento de contas em shards ({@code sharding.*}).
+ *
+ * @param enabled Habilita o roteamento por shard; desabilitado, a aplicação usa o {@code spring.datasource} único.
+ * @param nodeId Identificador desta instância, usado para decidir quais shards ela atende.
+ * @param virtualNodes Quantidade de nós virtuais de cada shard no anel de hash consistente.
+ * @param nodes URL base de cada instância, indexada pelo identificador do nó.
+ * @param shards Shards lógicos disponíveis, cada um com seu banco de dados.
+ */
+@ConfigurationProperties(prefix = "sharding")
+public record ShardingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("local") String nodeId,
+        @DefaultValue("160") int virtualNodes,
+        @DefaultValue Map<String, String> nodes,
+        @DefaultValue List<Shard> shards) {
+
+    /**
+     * @param id Identificador lógico do shard.
+     * @param url URL JDBC do banco do shard.
+     * @param username Usuário do banco.
+     * @param password Senha do banco.
+     * @param node Nó responsável por atender as contas do shard; vazio significa qualquer nó.
+     * @param ativo Se o shard participa do anel na inicialização; shards inativos recebem contas via rebalanceamento.
+     */
+    public record Shard(
+            String id,
+            String url,
+            String username,
+            String password,
+            String node,
+            @DefaultValue("true") boolean ativo) {
+    }
+
+    public static ShardingProperties desabilitado() {
+        return new ShardingProperties(false, "local", 160, Map.of(), List.of());
+    }
+
+    public List<String> shardsAtivos() {
+        return shards.stream().filter(Shard::ativo).map(Shard::id).toList();
+    }
+}
@@ -0,0 +1,13 @@
+CREATE TABLE IF NOT EXISTS contratos (
+    id UUID PRIMARY KEY,
+    account_id VARCHAR(255) NOT NULL UNIQUE,
+    valor_limite NUMERIC(38, 2) NOT NULL,
+    saldo_devedor NUMERIC(38, 2) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    agendamento_aplicado_em TIMESTAMP WITH TIME ZONE,
+    agendamento_aplicado_id UUID
+);
+
+ALTER TABLE contratos ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE contratos ADD COLUMN IF NOT EXISTS agendamento_aplicado_em TIMESTAMP WITH TIME ZONE;
+ALTER TABLE contratos ADD COLUMN IF NOT EXISTS agendamento_aplicado_id UUID;
@@ -0,0 +1,14 @@
+CREATE TABLE IF NOT EXISTS shard_topologia (
+    node_id VARCHAR(255) PRIMARY KEY,
+    fase VARCHAR(32) NOT NULL,
+    anel TEXT NOT NULL,
+    espelho TEXT,
+    virtual_nodes INTEGER NOT NULL,
+    ressincronizada BOOLEAN NOT NULL DEFAULT FALSE,
+    atualizado_em TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS shard_divergentes (
+    account_id VARCHAR(255) PRIMARY KEY,
+    registrado_em TIMESTAMP WITH TIME ZONE NOT NULL
+);
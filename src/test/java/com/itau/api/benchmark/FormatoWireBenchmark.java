@@ -0,0 +1,107 @@
+package com.itau.api.benchmark;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.itau.api.converter.ContratoCborHttpMessageConverter;
+import com.itau.api.dto.ContratoResponseDTO;
+import com.itau.api.dto.MovimentacaoRequestDTO;
+
+/**
+ * Compara JSON (Jackson via reflexão) e CBOR (conversor dedicado) no caminho de uma
+ * movimentação: leitura do {@link MovimentacaoRequestDTO} e escrita do {@link ContratoResponseDTO}.
+ * O tempo médio por operação mede a CPU por requisição. Os contadores secundários {@code bytes}
+ * e {@code operacoes} do resultado somam os bytes trafegados e as operações medidas; os bytes por
+ * requisição de cada formato são {@code bytes / operacoes}.
+ *
+ * Execução: {@code ./mvnw -Pbenchmark clean test-compile exec:exec -Djmh.filtro=FormatoWireBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatoWireBenchmark {
+
+    @Param({"json", "cbor"})
+    public String formato;
+
+    private HttpMessageConverter<Object> converter;
+    private MediaType mediaType;
+    private byte[] requisicao;
+    private ContratoResponseDTO resposta;
+
+    /**
+     * Bytes trafegados e operações medidas, reportados junto ao tempo em {@code jmh-result.json}.
+     * O JMH soma contadores de eventos entre iterações, por isso os dois totais são mantidos.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class BytesNaRede {
+        public long bytes;
+        public long operacoes;
+
+        void registrar(int tamanho) {
+            bytes += tamanho;
+            operacoes++;
+        }
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        if ("cbor".equals(formato)) {
+            converter = new ContratoCborHttpMessageConverter();
+            mediaType = MediaType.APPLICATION_CBOR;
+            requisicao = new CBORMapper().writeValueAsBytes(Map.of("valor", 50000));
+        } else {
+            converter = new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build());
+            mediaType = MediaType.APPLICATION_JSON;
+            requisicao = "{\"valor\": 500.00}".getBytes(StandardCharsets.UTF_8);
+        }
+
+        resposta = ContratoResponseDTO.builder()
+                .accountId("1234567")
+                .valorLimite(new BigDecimal("20000.00"))
+                .saldoDevedor(new BigDecimal("1500.00"))
+                .limiteDisponivel(new BigDecimal("18500.00"))
+                .build();
+    }
+
+    @Benchmark
+    public Object lerMovimentacao(BytesNaRede rede) throws IOException {
+        rede.registrar(requisicao.length);
+        return converter.read(MovimentacaoRequestDTO.class, new MockHttpInputMessage(requisicao));
+    }
+
+    @Benchmark
+    public MockHttpOutputMessage escreverContrato(BytesNaRede rede) throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(resposta, mediaType, output);
+        rede.registrar(output.getBodyAsBytes().length);
+        return output;
+    }
+}
@@ -0,0 +1,112 @@
+package com.itau.api.benchmark;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.itau.api.dto.ContratoResponseDTO;
+import com.itau.api.exception.GlobalExceptionHandler;
+import com.itau.api.exception.RegraNegocioException;
+
+/**
+ * Compara o caminho de recusa antigo (nova {@link IllegalStateException} com pilha completa, corpo
+ * em {@code LinkedHashMap} serializado pelo Jackson) com o atual ({@link RegraNegocioException}
+ * pré-alocada e corpo pré-serializado) em uma carga de débitos com alta taxa de recusa.
+ * <p>
+ * {@code percentualRecusas} define a fração de débitos acima do limite disponível; débitos aceitos
+ * custam o mesmo nos dois caminhos (serialização do {@link ContratoResponseDTO}).
+ * {@code profundidadePilha} simula os quadros do Tomcat, dos filtros do Spring Security e do
+ * dispatcher que ficam abaixo do serviço e tornam a captura da pilha mais cara.
+ *
+ * Execução: {@code ./mvnw -Pbenchmark clean test-compile exec:exec -Djmh.filtro=RecusaNegocioBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecusaNegocioBenchmark {
+
+    private static final int VALORES = 1024;
+    private static final BigDecimal LIMITE_DISPONIVEL = new BigDecimal("1000.00");
+
+    @Param({"legado", "leve"})
+    public String caminho;
+
+    @Param({"50", "95"})
+    public int percentualRecusas;
+
+    @Param({"20", "120"})
+    public int profundidadePilha;
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private ObjectMapper objectMapper;
+    private boolean legado;
+    private BigDecimal[] valores;
+    private int indice;
+    private ContratoResponseDTO contrato;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        legado = "legado".equals(caminho);
+
+        SplittableRandom random = new SplittableRandom(42);
+        valores = new BigDecimal[VALORES];
+        for (int i = 0; i < VALORES; i++) {
+            valores[i] = random.nextInt(100) < percentualRecusas ? new BigDecimal("1500.00") : new BigDecimal("50.00");
+        }
+
+        contrato = ContratoResponseDTO.builder()
+                .accountId("1234567")
+                .valorLimite(new BigDecimal("2000.00"))
+                .saldoDevedor(new BigDecimal("1000.00"))
+                .limiteDisponivel(LIMITE_DISPONIVEL)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] registrarDebito() throws JsonProcessingException {
+        BigDecimal valor = valores[indice++ & (VALORES - 1)];
+        try {
+            return objectMapper.writeValueAsBytes(debitar(valor, profundidadePilha));
+        } catch (IllegalStateException ex) {
+            ResponseEntity<Object> resposta = handler.handleIllegalStateException(ex, null);
+            return objectMapper.writeValueAsBytes(resposta.getBody());
+        } catch (RegraNegocioException ex) {
+            return handler.handleRegraNegocioException(ex).getBody();
+        }
+    }
+
+    private ContratoResponseDTO debitar(BigDecimal valor, int profundidade) {
+        if (profundidade > 0) {
+            return debitar(valor, profundidade - 1);
+        }
+        if (LIMITE_DISPONIVEL.compareTo(valor) < 0) {
+            throw legado
+                    ? new IllegalStateException("Débito não permitido. Limite disponível insuficiente.")
+                    : RegraNegocioException.LIMITE_INSUFICIENTE;
+        }
+        return contrato;
+    }
+}
@@ -0,0 +1,61 @@
+package com.itau.api.config;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.itau.api.controller.ShardAdminController;
+import com.itau.api.dto.StatusShardsResponseDTO;
+import com.itau.api.service.RebalanceamentoService;
+
+@WebMvcTest(ShardAdminController.class)
+@Import(SecurityConfig.class)
+class SecurityConfigTest {
+
+    private static final String STATUS_SHARDS = "/api/v1/admin/shards";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private RebalanceamentoService rebalanceamentoService;
+
+    @MockitoBean
+    private JwtDecoder jwtDecoder;
+
+    @Test
+    @DisplayName("Deve permitir os endpoints de administração com o escopo shards.admin")
+    void admin_WithShardsAdminScope_ReturnsOk() throws Exception {
+        // Arrange
+        when(rebalanceamentoService.status()).thenReturn(StatusShardsResponseDTO.builder().nodeId("node-a").build());
+
+        // Act & Assert
+        mockMvc.perform(get(STATUS_SHARDS).with(jwt().authorities(new SimpleGrantedAuthority("SCOPE_shards.admin"))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Deve recusar os endpoints de administração para tokens sem o escopo shards.admin")
+    void admin_WithoutShardsAdminScope_ReturnsForbidden() throws Exception {
+        mockMvc.perform(get(STATUS_SHARDS).with(jwt().authorities(new SimpleGrantedAuthority("SCOPE_profile"))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Deve exigir autenticação nos endpoints de administração")
+    void admin_WithoutToken_ReturnsUnauthorized() throws Exception {
+        mockMvc.perform(get(STATUS_SHARDS))
+                .andExpect(status().isUnauthorized());
+    }
+}
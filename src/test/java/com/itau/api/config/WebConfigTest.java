@@ -0,0 +1,121 @@
+package com.itau.api.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.itau.api.controller.ContratoController;
+import com.itau.api.dto.ContratoResponseDTO;
+import com.itau.api.exception.RegraNegocioException;
+import com.itau.api.service.AgendamentoLimiteService;
+import com.itau.api.service.ContratoService;
+
+@WebMvcTest(ContratoController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class WebConfigTest {
+
+    private static final String ACCOUNT_ID_TEST = "9876-5";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ContratoService contratoService;
+
+    @MockitoBean
+    private AgendamentoLimiteService agendamentoLimiteService;
+
+    @BeforeEach
+    void setUp() {
+        when(contratoService.consultarContrato(ACCOUNT_ID_TEST)).thenReturn(ContratoResponseDTO.builder()
+                .accountId(ACCOUNT_ID_TEST)
+                .valorLimite(new BigDecimal("1000.00"))
+                .saldoDevedor(new BigDecimal("200.50"))
+                .limiteDisponivel(new BigDecimal("799.50"))
+                .build());
+    }
+
+    @Test
+    @DisplayName("Deve manter JSON como formato padrão quando o cliente aceita qualquer tipo")
+    void consultar_AcceptAny_ReturnsJson() throws Exception {
+        mockMvc.perform(get("/api/v1/contratos/{accountId}", ACCOUNT_ID_TEST).accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.valorLimite").value(1000.00));
+    }
+
+    @Test
+    @DisplayName("Deve usar o conversor CBOR de contratos, com centavos, em vez do conversor CBOR do Jackson")
+    void consultar_AcceptCbor_UsesContratoConverter() throws Exception {
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/v1/contratos/{accountId}", ACCOUNT_ID_TEST)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        // Assert
+        Map<?, ?> decodificado = new CBORMapper().readValue(result.getResponse().getContentAsByteArray(), Map.class);
+        assertThat(decodificado.get("valorLimite")).isInstanceOf(Integer.class).isEqualTo(100000);
+        assertThat(decodificado.get("saldoDevedor")).isEqualTo(20050);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar movimentação com mais de duas casas decimais antes de chamar o serviço")
+    void registrarDebito_ScaleAboveCents_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/contratos/{accountId}/debito", ACCOUNT_ID_TEST)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_CBOR, MediaType.APPLICATION_JSON)
+                        .content("{\"valor\": 0.001}"))
+                .andExpect(status().isBadRequest());
+
+        verify(contratoService, never()).registrarDebito(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve responder erros em JSON mesmo quando o cliente aceita apenas CBOR")
+    void erros_AcceptCbor_ReturnJson() throws Exception {
+        // Arrange
+        when(contratoService.registrarDebito(ACCOUNT_ID_TEST, new BigDecimal("900.00")))
+                .thenThrow(RegraNegocioException.LIMITE_INSUFICIENTE);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/contratos/{accountId}/debito", ACCOUNT_ID_TEST)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content("{\"valor\": 900.00}"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.message").value("Débito não permitido. Limite disponível insuficiente."));
+
+        mockMvc.perform(post("/api/v1/contratos/{accountId}/debito", ACCOUNT_ID_TEST)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content("{\"valor\": 0.001}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.messages.valor").exists());
+    }
+}
@@ -0,0 +1,146 @@
+package com.itau.api.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import com.itau.api.config.SecurityConfig;
+import com.itau.api.dto.RebalanceamentoResponseDTO;
+import com.itau.api.dto.StatusShardsResponseDTO;
+import com.itau.api.service.RebalanceamentoService;
+import com.itau.api.shard.FaseMigracao;
+
+@WebMvcTest(ShardAdminController.class)
+@Import(SecurityConfig.class)
+class ShardAdminControllerTest {
+
+    private static final String BASE = "/api/v1/admin/shards";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private RebalanceamentoService rebalanceamentoService;
+
+    @MockitoBean
+    private JwtDecoder jwtDecoder;
+
+    @Test
+    @DisplayName("Deve executar cada fase do rebalanceamento e devolver o resultado")
+    void fases_Success_ReturnOk() throws Exception {
+        // Arrange
+        StatusShardsResponseDTO status = StatusShardsResponseDTO.builder().nodeId("node-a").fase(FaseMigracao.CONGELADA).build();
+        RebalanceamentoResponseDTO resultado = RebalanceamentoResponseDTO.builder().fase(FaseMigracao.CONGELADA).contratos(3).build();
+        when(rebalanceamentoService.iniciarMigracao(List.of("shard-a", "shard-c"))).thenReturn(status);
+        when(rebalanceamentoService.copiarContratos()).thenReturn(resultado);
+        when(rebalanceamentoService.congelar()).thenReturn(status);
+        when(rebalanceamentoService.ressincronizarContratos()).thenReturn(resultado);
+        when(rebalanceamentoService.concluirCutover()).thenReturn(status);
+        when(rebalanceamentoService.finalizarMigracao()).thenReturn(status);
+        when(rebalanceamentoService.limparContratos()).thenReturn(resultado);
+
+        // Act & Assert
+        mockMvc.perform(migracao("{\"shards\": [\"shard-a\", \"shard-c\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fase").value("CONGELADA"));
+        for (String fase : List.of("/migracao/congelamento", "/migracao/cutover", "/migracao/finalizacao")) {
+            mockMvc.perform(admin(post(BASE + fase)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.nodeId").value("node-a"));
+        }
+        for (String fase : List.of("/migracao/copia", "/migracao/ressincronizacao", "/limpeza")) {
+            mockMvc.perform(admin(post(BASE + fase)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.contratos").value(3));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve responder 422 quando a fase for chamada fora de ordem")
+    void congelar_WrongPhase_ReturnsUnprocessableEntity() throws Exception {
+        // Arrange
+        when(rebalanceamentoService.congelar())
+                .thenThrow(new IllegalStateException("Operação permitida apenas na fase DUAL_WRITE; fase atual: ESTAVEL."));
+
+        // Act & Assert
+        mockMvc.perform(admin(post(BASE + "/migracao/congelamento")))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.message").value("Operação permitida apenas na fase DUAL_WRITE; fase atual: ESTAVEL."));
+    }
+
+    @Test
+    @DisplayName("Deve responder 422 quando algum nó ainda não estiver congelado na ressincronização")
+    void ressincronizar_NodeNotFrozen_ReturnsUnprocessableEntity() throws Exception {
+        // Arrange
+        when(rebalanceamentoService.ressincronizarContratos())
+                .thenThrow(new IllegalStateException("Os nós [node-b] ainda não estão congelados com a mesma topologia."));
+
+        // Act & Assert
+        mockMvc.perform(admin(post(BASE + "/migracao/ressincronizacao")))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.status").value(422));
+    }
+
+    @Test
+    @DisplayName("Deve responder 400 ao iniciar a migração com um shard não configurado")
+    void iniciarMigracao_UnknownShard_ReturnsBadRequest() throws Exception {
+        // Arrange
+        when(rebalanceamentoService.iniciarMigracao(any()))
+                .thenThrow(new IllegalArgumentException("Shard não configurado: shard-z"));
+
+        // Act & Assert
+        mockMvc.perform(migracao("{\"shards\": [\"shard-z\"]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Shard não configurado: shard-z"));
+    }
+
+    @Test
+    @DisplayName("Deve responder 400 ao iniciar a migração sem shards")
+    void iniciarMigracao_EmptyShards_ReturnsBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(migracao("{\"shards\": []}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.messages.shards").value("obrigatorio passar os shards do novo anel."));
+        verifyNoInteractions(rebalanceamentoService);
+    }
+
+    @Test
+    @DisplayName("Deve responder 500 quando um shard estiver indisponível na consulta de status")
+    void status_DatabaseFailure_ReturnsInternalServerError() throws Exception {
+        // Arrange
+        when(rebalanceamentoService.status()).thenThrow(new RuntimeException("Conexão recusada"));
+
+        // Act & Assert
+        mockMvc.perform(admin(get(BASE)))
+                .andExpect(status().isInternalServerError());
+    }
+
+    private MockHttpServletRequestBuilder migracao(String corpo) {
+        return admin(post(BASE + "/migracao").contentType(MediaType.APPLICATION_JSON).content(corpo));
+    }
+
+    private static MockHttpServletRequestBuilder admin(MockHttpServletRequestBuilder requisicao) {
+        RequestPostProcessor token = jwt().authorities(new SimpleGrantedAuthority("SCOPE_shards.admin"));
+        return requisicao.with(token);
+    }
+}
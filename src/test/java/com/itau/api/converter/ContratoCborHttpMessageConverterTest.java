@@ -0,0 +1,150 @@
+package com.itau.api.converter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.itau.api.dto.AgendarAlteracaoLimiteRequestDTO;
+import com.itau.api.dto.AlteracaoLimiteAgendadaResponseDTO;
+import com.itau.api.dto.AlterarLimiteRequestDTO;
+import com.itau.api.dto.ContratoRequestDTO;
+import com.itau.api.dto.ContratoResponseDTO;
+import com.itau.api.dto.MovimentacaoRequestDTO;
+import com.itau.api.model.StatusAgendamento;
+
+class ContratoCborHttpMessageConverterTest {
+
+    private final ContratoCborHttpMessageConverter converter = new ContratoCborHttpMessageConverter();
+    private final CBORMapper cborMapper = new CBORMapper();
+
+    private final ContratoResponseDTO contrato = ContratoResponseDTO.builder()
+            .accountId("9876-5")
+            .valorLimite(new BigDecimal("1000.00"))
+            .saldoDevedor(new BigDecimal("200.50"))
+            .limiteDisponivel(new BigDecimal("799.50"))
+            .build();
+
+    @Test
+    @DisplayName("Deve escrever o contrato em CBOR com valores monetários em centavos")
+    void write_ContratoResponse_UsesScaledIntegers() throws Exception {
+        // Act
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(contrato, MediaType.APPLICATION_CBOR, output);
+
+        // Assert
+        Map<?, ?> decodificado = cborMapper.readValue(output.getBodyAsBytes(), Map.class);
+        assertThat(output.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+        assertThat(decodificado.get("accountId")).isEqualTo("9876-5");
+        assertThat(((Number) decodificado.get("valorLimite")).longValue()).isEqualTo(100000L);
+        assertThat(((Number) decodificado.get("saldoDevedor")).longValue()).isEqualTo(20050L);
+        assertThat(((Number) decodificado.get("limiteDisponivel")).longValue()).isEqualTo(79950L);
+    }
+
+    @Test
+    @DisplayName("Deve gerar payload menor que o JSON equivalente")
+    void write_ContratoResponse_IsSmallerThanJson() throws Exception {
+        // Act
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(contrato, MediaType.APPLICATION_CBOR, output);
+        byte[] json = Jackson2ObjectMapperBuilder.json().build().writeValueAsBytes(contrato);
+
+        // Assert
+        assertThat(output.getBodyAsBytes().length).isLessThan(json.length);
+    }
+
+    @Test
+    @DisplayName("Deve ler movimentação, alteração de limite e criação a partir de centavos")
+    void read_RequestDTOs_FromScaledIntegers() throws Exception {
+        // Arrange
+        byte[] movimentacao = cborMapper.writeValueAsBytes(Map.of("valor", 50000));
+        byte[] criacao = cborMapper.writeValueAsBytes(Map.of("accountId", "1234567", "valorLimite", 100000));
+
+        // Act
+        var mov = (MovimentacaoRequestDTO) converter.read(MovimentacaoRequestDTO.class, new MockHttpInputMessage(movimentacao));
+        var alt = (AlterarLimiteRequestDTO) converter.read(AlterarLimiteRequestDTO.class, new MockHttpInputMessage(movimentacao));
+        var req = (ContratoRequestDTO) converter.read(ContratoRequestDTO.class, new MockHttpInputMessage(criacao));
+
+        // Assert
+        assertThat(mov.getValor()).isEqualByComparingTo("500.00");
+        assertThat(alt.getValor()).isEqualByComparingTo("500.00");
+        assertThat(req.getAccountId()).isEqualTo("1234567");
+        assertThat(req.getValorLimite()).isEqualByComparingTo("1000.00");
+    }
+
+    @Test
+    @DisplayName("Deve ler o agendamento de limite em centavos e escrevê-lo com o limite em centavos")
+    void readAndWrite_Agendamento_UsesScaledIntegers() throws Exception {
+        // Arrange
+        byte[] corpo = cborMapper.writeValueAsBytes(Map.of("valor", 2500000, "executarEm", "2030-01-01T12:00:00Z"));
+        AlteracaoLimiteAgendadaResponseDTO agendado = AlteracaoLimiteAgendadaResponseDTO.builder()
+                .id(UUID.randomUUID())
+                .accountId("9876-5")
+                .valorLimite(new BigDecimal("25000.00"))
+                .executarEm(Instant.parse("2030-01-01T12:00:00Z"))
+                .status(StatusAgendamento.PENDENTE)
+                .build();
+
+        // Act
+        var request = (AgendarAlteracaoLimiteRequestDTO) converter.read(AgendarAlteracaoLimiteRequestDTO.class,
+                new MockHttpInputMessage(corpo));
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(agendado, MediaType.APPLICATION_CBOR, output);
+
+        // Assert
+        assertThat(request.getValor()).isEqualByComparingTo("25000.00");
+        assertThat(request.getExecutarEm()).isEqualTo(Instant.parse("2030-01-01T12:00:00Z"));
+        Map<?, ?> decodificado = cborMapper.readValue(output.getBodyAsBytes(), Map.class);
+        assertThat(decodificado.get("id")).isEqualTo(agendado.getId().toString());
+        assertThat(((Number) decodificado.get("valorLimite")).longValue()).isEqualTo(2500000L);
+        assertThat(decodificado.get("executarEm")).isEqualTo("2030-01-01T12:00:00Z");
+        assertThat(decodificado.get("status")).isEqualTo("PENDENTE");
+        assertThat(((Number) decodificado.get("tentativas")).intValue()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar executarEm que não seja um instante ISO-8601")
+    void read_InvalidInstant_ThrowsException() throws Exception {
+        // Arrange
+        byte[] corpo = cborMapper.writeValueAsBytes(Map.of("valor", 100, "executarEm", 1_700_000_000));
+
+        // Act & Assert
+        assertThrows(HttpMessageNotReadableException.class,
+                () -> converter.read(AgendarAlteracaoLimiteRequestDTO.class, new MockHttpInputMessage(corpo)));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar valor monetário que não seja inteiro")
+    void read_NonIntegerAmount_ThrowsException() throws Exception {
+        // Arrange
+        byte[] corpo = cborMapper.writeValueAsBytes(Map.of("valor", 500.5));
+
+        // Act & Assert
+        assertThrows(HttpMessageNotReadableException.class,
+                () -> converter.read(MovimentacaoRequestDTO.class, new MockHttpInputMessage(corpo)));
+    }
+
+    @Test
+    @DisplayName("Deve atender apenas os DTOs de contrato")
+    void canReadAndWrite_OnlyContratoDTOs() {
+        assertThat(converter.canRead(MovimentacaoRequestDTO.class, MediaType.APPLICATION_CBOR)).isTrue();
+        assertThat(converter.canRead(ContratoResponseDTO.class, MediaType.APPLICATION_CBOR)).isFalse();
+        assertThat(converter.canWrite(ContratoResponseDTO.class, MediaType.APPLICATION_CBOR)).isTrue();
+        assertThat(converter.canWrite(ContratoResponseDTO.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canRead(AgendarAlteracaoLimiteRequestDTO.class, MediaType.APPLICATION_CBOR)).isTrue();
+        assertThat(converter.canWrite(AlteracaoLimiteAgendadaResponseDTO.class, MediaType.APPLICATION_CBOR)).isTrue();
+        assertThat(converter.canWrite(Map.class, MediaType.APPLICATION_CBOR)).isFalse();
+    }
+}
@@ -0,0 +1,103 @@
+package com.itau.api.exception;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+class CorpoErroTest {
+
+    // Mesma configuração de datas do ObjectMapper do Spring Boot
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    @DisplayName("Deve produzir o mesmo JSON que o corpo de erro serializado pelo Jackson")
+    void escrever_MatchesJacksonBody() throws Exception {
+        // Arrange
+        LocalDateTime timestamp = LocalDateTime.of(2025, 3, 1, 10, 15, 0, 120_000_000);
+        String message = "Contrato não encontrado para o accountId: \"12\\34\"";
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", timestamp);
+        body.put("status", HttpStatus.NOT_FOUND.value());
+        body.put("error", HttpStatus.NOT_FOUND.getReasonPhrase());
+        body.put("message", message);
+
+        // Act
+        byte[] corpo = CorpoErro.de(HttpStatus.NOT_FOUND, message).escrever(timestamp);
+
+        // Assert
+        assertThat(new String(corpo, StandardCharsets.UTF_8)).isEqualTo(objectMapper.writeValueAsString(body));
+    }
+
+    @Test
+    @DisplayName("Deve completar o corpo pré-serializado com o identificador escapado, como o Jackson")
+    void escrever_WithIdentifier_MatchesJacksonBody() throws Exception {
+        // Arrange
+        LocalDateTime timestamp = LocalDateTime.of(2025, 3, 1, 10, 15, 0, 120_000_000);
+        String identificador = "\"12\\34\"ç";
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", timestamp);
+        body.put("status", HttpStatus.NOT_FOUND.value());
+        body.put("error", HttpStatus.NOT_FOUND.getReasonPhrase());
+        body.put("message", "Contrato não encontrado para o accountId: " + identificador);
+        ResourceNotFoundException exception = ResourceNotFoundException.contrato(identificador);
+
+        // Act
+        byte[] corpo = exception.getCorpo().escrever(timestamp, exception.getIdentificador());
+
+        // Assert
+        assertThat(new String(corpo, StandardCharsets.UTF_8)).isEqualTo(objectMapper.writeValueAsString(body));
+        assertThat(exception.getMessage()).isEqualTo(body.get("message"));
+    }
+
+    @Test
+    @DisplayName("Deve responder 404 em JSON com a mensagem do recurso não encontrado")
+    void handleResourceNotFoundException_RespondsWithPrecomputedBody() throws Exception {
+        // Act
+        ResponseEntity<byte[]> resposta = new GlobalExceptionHandler()
+                .handleResourceNotFoundException(ResourceNotFoundException.agendamento(new UUID(0L, 1L)), null);
+
+        // Assert
+        assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(resposta.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        Map<?, ?> body = objectMapper.readValue(resposta.getBody(), Map.class);
+        assertThat(body.get("message")).isEqualTo("Agendamento não encontrado: 00000000-0000-0000-0000-000000000001");
+    }
+
+    @Test
+    @DisplayName("Deve responder com o status da recusa e conteúdo JSON")
+    void resposta_UsesStatusAndJsonContentType() throws Exception {
+        // Act
+        ResponseEntity<byte[]> resposta = RegraNegocioException.LIMITE_INSUFICIENTE.getCorpo().resposta();
+
+        // Assert
+        assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(resposta.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        Map<?, ?> body = objectMapper.readValue(resposta.getBody(), Map.class);
+        assertThat(body.get("status")).isEqualTo(422);
+        assertThat(body.get("message")).isEqualTo("Débito não permitido. Limite disponível insuficiente.");
+    }
+
+    @Test
+    @DisplayName("Não deve capturar a pilha de chamadas nas recusas esperadas")
+    void recusas_HaveNoStackTrace() {
+        assertThat(RegraNegocioException.LIMITE_INSUFICIENTE.getStackTrace()).isEmpty();
+        assertThat(ContratoDuplicadoException.INSTANCIA.getStackTrace()).isEmpty();
+        assertThat(ResourceNotFoundException.contrato("1234-5").getStackTrace()).isEmpty();
+    }
+}
@@ -0,0 +1,337 @@
+package com.itau.api.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.itau.api.exception.ResourceNotFoundException;
+import com.itau.api.exception.ShardCongeladoException;
+import com.itau.api.exception.ShardIncorretoException;
+import com.itau.api.model.AgendamentoPendente;
+import com.itau.api.model.StatusAgendamento;
+import com.itau.api.service.AgendamentoLimiteService;
+import com.itau.api.service.AgendamentoLimiteService.ResultadoLote;
+import com.itau.api.shard.ShardRouter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class AlteracaoLimiteSchedulerTest {
+
+    private static final Instant INICIO = Instant.parse("2030-01-01T00:00:00Z");
+    private static final UUID MAIOR_ID = new UUID(-1L, -1L);
+    private static final UUID MENOR_ID = new UUID(0L, 0L);
+    private static final int TAMANHO_LOTE = 2;
+    private static final int MAX_TENTATIVAS = 3;
+    private static final Duration HORIZONTE = Duration.ofMinutes(10);
+    private static final Duration BACKOFF = Duration.ofSeconds(30);
+
+    private final AgendamentoLimiteProperties properties = new AgendamentoLimiteProperties(
+            Duration.ofSeconds(1), 60, HORIZONTE, Duration.ofSeconds(30), Duration.ofMinutes(5),
+            TAMANHO_LOTE, 1, MAX_TENTATIVAS, BACKOFF);
+
+    @Mock
+    private AgendamentoLimiteService agendamentoService;
+
+    private RelogioManual relogio;
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorNaMesmaThread executor;
+    private AlteracaoLimiteScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        relogio = new RelogioManual(INICIO);
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new ExecutorNaMesmaThread();
+        scheduler = new AlteracaoLimiteScheduler(agendamentoService, properties, ShardRouter.semSharding(),
+                meterRegistry, relogio, executor);
+    }
+
+    @Test
+    @DisplayName("Deve carregar a janela paginando por (executarEm, id) e depois apenas a janela seguinte")
+    void carregarPendentes_PagesWindowAndThenLoadsOnlyNextWindow() {
+        // Arrange
+        AgendamentoPendente primeiro = pendente(INICIO.plusSeconds(1));
+        AgendamentoPendente segundo = pendente(INICIO.plusSeconds(2));
+        AgendamentoPendente terceiro = pendente(INICIO.plusSeconds(3));
+        Instant horizonte = INICIO.plus(HORIZONTE);
+        when(agendamentoService.buscarPendentes(Instant.EPOCH, MAIOR_ID, horizonte, TAMANHO_LOTE))
+                .thenReturn(List.of(primeiro, segundo));
+        when(agendamentoService.buscarPendentes(segundo.executarEm(), segundo.id(), horizonte, TAMANHO_LOTE))
+                .thenReturn(List.of(terceiro));
+        when(agendamentoService.buscarPendentes(horizonte, MAIOR_ID, horizonte.plusSeconds(30), TAMANHO_LOTE))
+                .thenReturn(List.of());
+        when(agendamentoService.aplicarLote(any())).thenAnswer(invocation -> aplicadas(invocation.getArgument(0)));
+
+        // Act
+        scheduler.carregarPendentes();
+        relogio.avancar(Duration.ofSeconds(30));
+        scheduler.carregarPendentes();
+        scheduler.processarVencidos();
+
+        // Assert
+        verify(agendamentoService, times(2)).aplicarLote(any());
+        assertThat(contador("aplicada")).isEqualTo(3);
+        assertThat(meterRegistry.get("agendamento.limite.pendentes").gauge().value()).isZero();
+        assertThat(meterRegistry.get("agendamento.limite.lote").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve incluir por evento apenas agendamentos criados dentro da janela já carregada")
+    void agendamentoCriado_AddsOnlyWithinLoadedWindow() {
+        // Arrange
+        carregarJanelaVazia();
+        AgendamentoPendente dentro = pendente(INICIO.plus(Duration.ofMinutes(1)));
+        AgendamentoPendente fora = pendente(INICIO.plus(Duration.ofMinutes(20)));
+        when(agendamentoService.aplicarLote(any())).thenAnswer(invocation -> aplicadas(invocation.getArgument(0)));
+
+        // Act
+        scheduler.agendamentoCriado(dentro);
+        scheduler.agendamentoCriado(fora);
+        relogio.avancar(Duration.ofMinutes(30));
+        scheduler.processarVencidos();
+
+        // Assert
+        verify(agendamentoService).aplicarLote(List.of(dentro.id()));
+        assertThat(contador("aplicada")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve retentar após o backoff até esgotar as tentativas e então contar a falha")
+    void processarVencidos_InfrastructureFailure_RetriesUntilMaxTentativas() {
+        // Arrange
+        carregarJanelaVazia();
+        AgendamentoPendente pendente = pendente(INICIO.plusSeconds(1));
+        RuntimeException erro = new RuntimeException("conexão recusada");
+        when(agendamentoService.aplicarLote(List.of(pendente.id())))
+                .thenReturn(new ResultadoLote(Map.of(), Map.of(pendente.id(), erro)));
+        when(agendamentoService.registrarFalha(pendente.id(), "conexão recusada", MAX_TENTATIVAS))
+                .thenReturn(true, true, false);
+        scheduler.agendamentoCriado(pendente);
+
+        // Act
+        relogio.avancar(Duration.ofSeconds(2));
+        scheduler.processarVencidos();
+        for (int i = 0; i < MAX_TENTATIVAS; i++) {
+            relogio.avancar(BACKOFF.plusSeconds(1));
+            scheduler.processarVencidos();
+        }
+
+        // Assert
+        verify(agendamentoService, times(MAX_TENTATIVAS)).aplicarLote(List.of(pendente.id()));
+        assertThat(contador("retentativa")).isEqualTo(2);
+        assertThat(contador("falha")).isEqualTo(1);
+        assertThat(meterRegistry.get("agendamento.limite.pendentes").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve contar aplicadas e rejeitadas, descartar contas de outro nó e aguardar contas congeladas")
+    void processarVencidos_MixedOutcomes_UpdatesCountersAndRoutesShardFailures() {
+        // Arrange
+        carregarJanelaVazia();
+        AgendamentoPendente aplicada = pendente(INICIO.plusSeconds(1));
+        AgendamentoPendente rejeitada = pendente(INICIO.plusSeconds(1));
+        AgendamentoPendente outroNo = pendente(INICIO.plusSeconds(2));
+        AgendamentoPendente congelada = pendente(INICIO.plusSeconds(2));
+        Map<UUID, RuntimeException> primeirasFalhas = new HashMap<>(Map.of(
+                outroNo.id(), new ShardIncorretoException("b", "http://node-b:8080"),
+                congelada.id(), ShardCongeladoException.INSTANCIA));
+        when(agendamentoService.aplicarLote(any())).thenAnswer(invocation -> {
+            Map<UUID, StatusAgendamento> concluidos = new HashMap<>();
+            Map<UUID, RuntimeException> falhas = new HashMap<>();
+            for (UUID id : invocation.<List<UUID>>getArgument(0)) {
+                RuntimeException falha = primeirasFalhas.remove(id);
+                if (falha != null) {
+                    falhas.put(id, falha);
+                } else {
+                    concluidos.put(id, id.equals(rejeitada.id()) ? StatusAgendamento.REJEITADA : StatusAgendamento.APLICADA);
+                }
+            }
+            return new ResultadoLote(concluidos, falhas);
+        });
+        List.of(aplicada, rejeitada, outroNo, congelada).forEach(scheduler::agendamentoCriado);
+
+        // Act
+        relogio.avancar(Duration.ofSeconds(3));
+        scheduler.processarVencidos();
+        relogio.avancar(BACKOFF.plusSeconds(1));
+        scheduler.processarVencidos();
+
+        // Assert
+        assertThat(contador("aplicada")).isEqualTo(2);
+        assertThat(contador("rejeitada")).isEqualTo(1);
+        assertThat(contador("retentativa")).isZero();
+        verify(agendamentoService, never()).registrarFalha(any(), anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve recuperar pendentes atrasados sem duplicar os que já estão na roda")
+    void recuperarAtrasados_AddsOverdueOnlyOnce() {
+        // Arrange
+        AgendamentoPendente atrasado = pendente(INICIO.minus(Duration.ofHours(1)));
+        when(agendamentoService.buscarPendentes(Instant.EPOCH, MENOR_ID, INICIO.minus(Duration.ofMinutes(5)), TAMANHO_LOTE))
+                .thenReturn(List.of(atrasado));
+        when(agendamentoService.aplicarLote(List.of(atrasado.id())))
+                .thenReturn(new ResultadoLote(Map.of(atrasado.id(), StatusAgendamento.APLICADA), Map.of()));
+
+        // Act
+        scheduler.recuperarAtrasados();
+        scheduler.recuperarAtrasados();
+        relogio.avancar(Duration.ofSeconds(1));
+        scheduler.processarVencidos();
+
+        // Assert
+        verify(agendamentoService, times(1)).aplicarLote(any());
+        assertThat(contador("aplicada")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve tratar a falha do lote inteiro agendamento a agendamento")
+    void processarVencidos_BatchFailure_HandlesEachSchedule() {
+        // Arrange
+        carregarJanelaVazia();
+        AgendamentoPendente removido = pendente(INICIO.plusSeconds(1));
+        AgendamentoPendente semRegistro = pendente(INICIO.plusSeconds(1));
+        when(agendamentoService.aplicarLote(any()))
+                .thenThrow(new RuntimeException("banco fora do ar"))
+                .thenAnswer(invocation -> aplicadas(invocation.getArgument(0)));
+        when(agendamentoService.registrarFalha(eq(removido.id()), anyString(), eq(MAX_TENTATIVAS)))
+                .thenThrow(ResourceNotFoundException.agendamento(removido.id()));
+        when(agendamentoService.registrarFalha(eq(semRegistro.id()), anyString(), eq(MAX_TENTATIVAS)))
+                .thenThrow(new RuntimeException("banco fora do ar"));
+        scheduler.agendamentoCriado(removido);
+        scheduler.agendamentoCriado(semRegistro);
+
+        // Act
+        relogio.avancar(Duration.ofSeconds(2));
+        scheduler.processarVencidos();
+        relogio.avancar(BACKOFF.plusSeconds(1));
+        scheduler.processarVencidos();
+
+        // Assert
+        verify(agendamentoService).aplicarLote(List.of(semRegistro.id()));
+        assertThat(contador("retentativa")).isEqualTo(1);
+        assertThat(contador("aplicada")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve encerrar o pool de lotes ao desligar")
+    void encerrar_ShutsDownExecutor() {
+        // Act
+        scheduler.encerrar();
+
+        // Assert
+        assertThat(executor.isShutdown()).isTrue();
+    }
+
+    private void carregarJanelaVazia() {
+        when(agendamentoService.buscarPendentes(Instant.EPOCH, MAIOR_ID, INICIO.plus(HORIZONTE), TAMANHO_LOTE))
+                .thenReturn(List.of());
+        scheduler.carregarPendentes();
+    }
+
+    private double contador(String resultado) {
+        return meterRegistry.get("agendamento.limite.execucoes").tag("resultado", resultado).counter().count();
+    }
+
+    private static ResultadoLote aplicadas(List<UUID> ids) {
+        Map<UUID, StatusAgendamento> concluidos = new HashMap<>();
+        ids.forEach(id -> concluidos.put(id, StatusAgendamento.APLICADA));
+        return new ResultadoLote(concluidos, Map.of());
+    }
+
+    private static AgendamentoPendente pendente(Instant executarEm) {
+        return new AgendamentoPendente(UUID.randomUUID(), "9876-5", executarEm);
+    }
+
+    /** Relógio controlado pelo teste. */
+    private static final class RelogioManual extends Clock {
+
+        private Instant agora;
+
+        private RelogioManual(Instant agora) {
+            this.agora = agora;
+        }
+
+        private void avancar(Duration duracao) {
+            agora = agora.plus(duracao);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return agora;
+        }
+    }
+
+    /** Executa os lotes na thread do teste, para que cada tick termine antes das verificações. */
+    private static final class ExecutorNaMesmaThread extends AbstractExecutorService {
+
+        private boolean encerrado;
+
+        @Override
+        public void execute(Runnable comando) {
+            comando.run();
+        }
+
+        @Override
+        public void shutdown() {
+            encerrado = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            encerrado = true;
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return encerrado;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return encerrado;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
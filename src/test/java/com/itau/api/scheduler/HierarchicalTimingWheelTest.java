@@ -0,0 +1,91 @@
+package com.itau.api.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long INICIO = 1_700_000_000_000L;
+    private static final long TICK = 1_000L;
+
+    @Test
+    @DisplayName("Deve vencer o item somente quando o prazo for alcançado")
+    void avancar_ReturnsItemOnlyAfterDeadline() {
+        // Arrange
+        HierarchicalTimingWheel<String> roda = new HierarchicalTimingWheel<>(TICK, 8, INICIO);
+        roda.agendar("a", INICIO + 3_500);
+
+        // Act & Assert
+        assertThat(roda.avancar(INICIO + 3_000)).isEmpty();
+        assertThat(roda.tamanho()).isEqualTo(1);
+        assertThat(roda.avancar(INICIO + 4_000)).containsExactly("a");
+        assertThat(roda.tamanho()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve vencer imediatamente itens com prazo já passado")
+    void agendar_PastDeadline_IsDueOnNextAdvance() {
+        // Arrange
+        HierarchicalTimingWheel<String> roda = new HierarchicalTimingWheel<>(TICK, 8, INICIO);
+
+        // Act
+        roda.agendar("atrasado", INICIO - 10_000);
+
+        // Assert
+        assertThat(roda.avancar(INICIO)).containsExactly("atrasado");
+    }
+
+    @Test
+    @DisplayName("Deve descer em cascata itens agendados além do primeiro nível")
+    void avancar_CascadesItemsFromUpperLevels() {
+        // Arrange
+        HierarchicalTimingWheel<String> roda = new HierarchicalTimingWheel<>(TICK, 4, INICIO);
+        roda.agendar("nivel2", INICIO + 30_000);
+        roda.agendar("nivel1", INICIO + 9_000);
+
+        // Act & Assert
+        assertThat(roda.avancar(INICIO + 8_999)).isEmpty();
+        assertThat(roda.avancar(INICIO + 9_000)).containsExactly("nivel1");
+        assertThat(roda.avancar(INICIO + 29_999)).isEmpty();
+        assertThat(roda.avancar(INICIO + 30_000)).containsExactly("nivel2");
+    }
+
+    @Test
+    @DisplayName("Nunca deve vencer itens antes do prazo e no máximo um tick depois")
+    void avancar_RandomDeadlines_RespectsBounds() {
+        // Arrange
+        Random random = new Random(42);
+        HierarchicalTimingWheel<Long> roda = new HierarchicalTimingWheel<>(TICK, 8, INICIO);
+        List<Long> prazos = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            long prazo = INICIO + random.nextLong(2_000_000L);
+            prazos.add(prazo);
+            roda.agendar(prazo, prazo);
+        }
+
+        // Act & Assert
+        int vencidos = 0;
+        for (long agora = INICIO; vencidos < prazos.size(); agora += 250) {
+            for (long prazo : roda.avancar(agora)) {
+                assertThat(prazo).isLessThanOrEqualTo(agora);
+                assertThat(agora - prazo).isLessThan(TICK + 250);
+                vencidos++;
+            }
+        }
+        assertThat(roda.tamanho()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar configuração inválida")
+    void constructor_InvalidConfiguration_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<String>(0, 8, INICIO));
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<String>(TICK, 1, INICIO));
+    }
+}
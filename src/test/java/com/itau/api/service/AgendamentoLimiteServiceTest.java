@@ -0,0 +1,225 @@
+package com.itau.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.itau.api.dto.AgendarAlteracaoLimiteRequestDTO;
+import com.itau.api.exception.RegraNegocioException;
+import com.itau.api.exception.ResourceNotFoundException;
+import com.itau.api.model.AgendamentoPendente;
+import com.itau.api.model.AlteracaoLimiteAgendada;
+import com.itau.api.model.StatusAgendamento;
+import com.itau.api.repository.AlteracaoLimiteAgendadaRepository;
+
+@ExtendWith(MockitoExtension.class)
+class AgendamentoLimiteServiceTest {
+
+    @Mock
+    private AlteracaoLimiteAgendadaRepository agendamentoRepository;
+
+    @Mock
+    private ContratoService contratoService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private AgendamentoLimiteService agendamentoLimiteService;
+
+    private AlteracaoLimiteAgendada agendamento;
+
+    private static final String ACCOUNT_ID_TEST = "9876-5";
+    private static final UUID AGENDAMENTO_ID = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        agendamento = AlteracaoLimiteAgendada.builder()
+            .id(AGENDAMENTO_ID)
+            .accountId(ACCOUNT_ID_TEST)
+            .valorLimite(new BigDecimal("1500.00"))
+            .executarEm(Instant.parse("2026-11-01T03:00:00Z"))
+            .status(StatusAgendamento.PENDENTE)
+            .tentativas(0)
+            .build();
+    }
+
+    @Test
+    @DisplayName("Deve agendar alteração de limite como pendente")
+    void agendarAlteracaoLimite_Success() {
+        // Arrange
+        when(agendamentoRepository.save(any(AlteracaoLimiteAgendada.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        var request = new AgendarAlteracaoLimiteRequestDTO(new BigDecimal("1500.00"), Instant.parse("2026-11-01T03:00:00Z"));
+
+        // Act
+        var response = agendamentoLimiteService.agendarAlteracaoLimite(ACCOUNT_ID_TEST, request);
+
+        // Assert
+        verify(contratoService).consultarContrato(ACCOUNT_ID_TEST);
+        assertThat(response.getStatus()).isEqualTo(StatusAgendamento.PENDENTE);
+        assertThat(response.getValorLimite()).isEqualByComparingTo("1500.00");
+        assertThat(response.getExecutarEm()).isEqualTo(request.getExecutarEm());
+        verify(eventPublisher).publishEvent(new AgendamentoPendente(null, ACCOUNT_ID_TEST, request.getExecutarEm()));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao agendar alteração para contrato inexistente")
+    void agendarAlteracaoLimite_WhenContratoNotFound_ThrowsException() {
+        // Arrange
+        when(contratoService.consultarContrato(ACCOUNT_ID_TEST)).thenThrow(ResourceNotFoundException.contrato(ACCOUNT_ID_TEST));
+        var request = new AgendarAlteracaoLimiteRequestDTO(new BigDecimal("1500.00"), Instant.now());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> agendamentoLimiteService.agendarAlteracaoLimite(ACCOUNT_ID_TEST, request));
+        verify(agendamentoRepository, never()).save(any(AlteracaoLimiteAgendada.class));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar a alteração agendada usando a regra do contrato")
+    void aplicarLote_Success() {
+        // Arrange
+        when(agendamentoRepository.findAllById(List.of(AGENDAMENTO_ID))).thenReturn(List.of(agendamento));
+
+        // Act
+        var resultado = agendamentoLimiteService.aplicarLote(List.of(AGENDAMENTO_ID));
+
+        // Assert
+        assertThat(resultado.concluidos()).containsEntry(AGENDAMENTO_ID, StatusAgendamento.APLICADA);
+        assertThat(resultado.falhas()).isEmpty();
+        verify(contratoService).aplicarAgendamento(agendamento);
+        verify(agendamentoRepository).marcarAplicadas(List.of(AGENDAMENTO_ID));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar a alteração agendada quando o limite for inferior ao saldo devedor")
+    void aplicarLote_WhenLimitBelowSaldoDevedor_Rejects() {
+        // Arrange
+        when(agendamentoRepository.findAllById(List.of(AGENDAMENTO_ID))).thenReturn(List.of(agendamento));
+        doThrow(RegraNegocioException.LIMITE_INFERIOR_AO_SALDO).when(contratoService).aplicarAgendamento(agendamento);
+
+        // Act
+        var resultado = agendamentoLimiteService.aplicarLote(List.of(AGENDAMENTO_ID));
+
+        // Assert
+        assertThat(resultado.concluidos()).containsEntry(AGENDAMENTO_ID, StatusAgendamento.REJEITADA);
+        verify(agendamentoRepository).marcarRejeitadas(List.of(AGENDAMENTO_ID),
+            "O valor do limite não pode ser inferior ao saldo devedor atual.");
+        verify(agendamentoRepository, never()).marcarAplicadas(any());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar a alteração agendada quando um agendamento posterior já foi aplicado na conta")
+    void aplicarLote_WhenLaterScheduleApplied_Rejects() {
+        // Arrange
+        when(agendamentoRepository.findAllById(List.of(AGENDAMENTO_ID))).thenReturn(List.of(agendamento));
+        doThrow(RegraNegocioException.AGENDAMENTO_SUPERADO).when(contratoService).aplicarAgendamento(agendamento);
+
+        // Act
+        var resultado = agendamentoLimiteService.aplicarLote(List.of(AGENDAMENTO_ID));
+
+        // Assert
+        assertThat(resultado.concluidos()).containsEntry(AGENDAMENTO_ID, StatusAgendamento.REJEITADA);
+        verify(agendamentoRepository).marcarRejeitadas(List.of(AGENDAMENTO_ID),
+            "Um agendamento posterior já foi aplicado ao limite do contrato.");
+    }
+
+    @Test
+    @DisplayName("Não deve reaplicar agendamento que não está pendente")
+    void aplicarLote_WhenNotPending_DoesNothing() {
+        // Arrange
+        agendamento.setStatus(StatusAgendamento.APLICADA);
+        when(agendamentoRepository.findAllById(List.of(AGENDAMENTO_ID))).thenReturn(List.of(agendamento));
+
+        // Act
+        var resultado = agendamentoLimiteService.aplicarLote(List.of(AGENDAMENTO_ID));
+
+        // Assert
+        assertThat(resultado.concluidos()).containsEntry(AGENDAMENTO_ID, StatusAgendamento.APLICADA);
+        verify(contratoService, never()).aplicarAgendamento(any());
+        verify(agendamentoRepository, never()).marcarAplicadas(any());
+        verify(agendamentoRepository, never()).marcarRejeitadas(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve devolver falhas de infraestrutura para retentativa")
+    void aplicarLote_WhenInfrastructureFails_ReturnsFailure() {
+        // Arrange
+        RuntimeException erro = new RuntimeException("conexão recusada");
+        when(agendamentoRepository.findAllById(List.of(AGENDAMENTO_ID))).thenReturn(List.of(agendamento));
+        doThrow(erro).when(contratoService).aplicarAgendamento(agendamento);
+
+        // Act
+        var resultado = agendamentoLimiteService.aplicarLote(List.of(AGENDAMENTO_ID));
+
+        // Assert
+        assertThat(resultado.falhas()).containsEntry(AGENDAMENTO_ID, erro);
+        assertThat(resultado.concluidos()).doesNotContainKey(AGENDAMENTO_ID);
+        assertThat(agendamento.getStatus()).isEqualTo(StatusAgendamento.PENDENTE);
+        verify(agendamentoRepository, never()).marcarAplicadas(any());
+    }
+
+    @Test
+    @DisplayName("Deve gravar os status do lote com uma atualização por desfecho")
+    void aplicarLote_GroupsStatusUpdates() {
+        // Arrange
+        AlteracaoLimiteAgendada outro = AlteracaoLimiteAgendada.builder()
+            .id(UUID.randomUUID()).accountId("1111-1").valorLimite(new BigDecimal("10.00"))
+            .executarEm(agendamento.getExecutarEm()).status(StatusAgendamento.PENDENTE).build();
+        AlteracaoLimiteAgendada rejeitado = AlteracaoLimiteAgendada.builder()
+            .id(UUID.randomUUID()).accountId("2222-2").valorLimite(new BigDecimal("10.00"))
+            .executarEm(agendamento.getExecutarEm()).status(StatusAgendamento.PENDENTE).build();
+        List<UUID> ids = List.of(AGENDAMENTO_ID, outro.getId(), rejeitado.getId());
+        when(agendamentoRepository.findAllById(ids)).thenReturn(List.of(agendamento, outro, rejeitado));
+        doAnswer(invocation -> {
+            if ("2222-2".equals(invocation.<AlteracaoLimiteAgendada>getArgument(0).getAccountId())) {
+                throw ResourceNotFoundException.contrato("2222-2");
+            }
+            return null;
+        }).when(contratoService).aplicarAgendamento(any());
+
+        // Act
+        var resultado = agendamentoLimiteService.aplicarLote(ids);
+
+        // Assert
+        assertThat(resultado.concluidos()).hasSize(3);
+        verify(agendamentoRepository).marcarAplicadas(List.of(AGENDAMENTO_ID, outro.getId()));
+        verify(agendamentoRepository).marcarRejeitadas(List.of(rejeitado.getId()),
+            "Contrato não encontrado para o accountId: 2222-2");
+    }
+
+    @Test
+    @DisplayName("Deve manter pendente enquanto houver tentativas e marcar falha ao esgotá-las")
+    void registrarFalha_MarksFalhaAfterMaxTentativas() {
+        // Arrange
+        when(agendamentoRepository.findById(AGENDAMENTO_ID)).thenReturn(Optional.of(agendamento));
+
+        // Act & Assert
+        assertThat(agendamentoLimiteService.registrarFalha(AGENDAMENTO_ID, "timeout", 2)).isTrue();
+        assertThat(agendamento.getStatus()).isEqualTo(StatusAgendamento.PENDENTE);
+
+        assertThat(agendamentoLimiteService.registrarFalha(AGENDAMENTO_ID, "timeout", 2)).isFalse();
+        assertThat(agendamento.getStatus()).isEqualTo(StatusAgendamento.FALHA);
+        assertThat(agendamento.getTentativas()).isEqualTo(2);
+        assertThat(agendamento.getUltimoErro()).isEqualTo("timeout");
+    }
+}
@@ -9,6 +9,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,12 +19,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.itau.api.dto.ContratoRequestDTO;
+import com.itau.api.exception.ContratoDuplicadoException;
+import com.itau.api.exception.RegraNegocioException;
 import com.itau.api.exception.ResourceNotFoundException;
+import com.itau.api.model.AlteracaoLimiteAgendada;
 import com.itau.api.model.Contrato;
 import com.itau.api.repository.ContratoRepository;
+import com.itau.api.shard.ShardRouter;
 
 @ExtendWith(MockitoExtension.class)
 class ContratoServiceTest {
@@ -31,6 +37,9 @@ class ContratoServiceTest {
     @Mock
     private ContratoRepository contratoRepository;
 
+    @Spy
+    private ShardRouter shardRouter = ShardRouter.semSharding();
+
     @InjectMocks
     private ContratoService contratoService;
 
@@ -75,7 +84,7 @@ class ContratoServiceTest {
         ContratoRequestDTO request = new ContratoRequestDTO(ACCOUNT_ID_TEST, new BigDecimal("1000"));
 
         // Act & Assert
-        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,() -> {
+        ContratoDuplicadoException thrown = assertThrows(ContratoDuplicadoException.class,() -> {
             contratoService.criarContrato(request);
         });
         assertThat(thrown.getMessage()).isEqualTo("Contrato já existente para este accountId.");
@@ -107,7 +116,7 @@ class ContratoServiceTest {
         BigDecimal valorDebito = new BigDecimal("900.00");
 
         // Act & Assert
-        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> {
+        RegraNegocioException thrown = assertThrows(RegraNegocioException.class, () -> {
             contratoService.registrarDebito(ACCOUNT_ID_TEST, valorDebito);
         });
         assertThat(thrown.getMessage()).isEqualTo("Débito não permitido. Limite disponível insuficiente.");
@@ -200,12 +209,60 @@ class ContratoServiceTest {
         
         BigDecimal novoLimite = new BigDecimal("100.00");
         // Act & Assert
-        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> {
+        RegraNegocioException thrown = assertThrows(RegraNegocioException.class, () -> {
             contratoService.alterarLimite(ACCOUNT_ID_TEST, novoLimite);
         });
         assertThat(thrown.getMessage()).isEqualTo("O valor do limite não pode ser inferior ao saldo devedor atual.");
     }
 
+    @Test
+    @DisplayName("Deve aplicar o agendamento e registrá-lo no contrato na mesma gravação do limite")
+    void aplicarAgendamento_Success_RecordsSchedule() {
+        // Arrange
+        AlteracaoLimiteAgendada agendamento = agendamento(Instant.parse("2030-01-01T12:00:00Z"));
+        when(contratoRepository.findByAccountId(ACCOUNT_ID_TEST)).thenReturn(Optional.of(contrato));
+        when(contratoRepository.save(any(Contrato.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        contratoService.aplicarAgendamento(agendamento);
+
+        // Assert
+        assertThat(contrato.getValorLimite()).isEqualByComparingTo("1500.00");
+        assertThat(contrato.getAgendamentoAplicadoEm()).isEqualTo(agendamento.getExecutarEm());
+        assertThat(contrato.getAgendamentoAplicadoId()).isEqualTo(agendamento.getId());
+    }
+
+    @Test
+    @DisplayName("Não deve reaplicar um agendamento já registrado no contrato")
+    void aplicarAgendamento_AlreadyApplied_DoesNotSave() {
+        // Arrange
+        AlteracaoLimiteAgendada agendamento = agendamento(Instant.parse("2030-01-01T12:00:00Z"));
+        contrato.setAgendamentoAplicadoEm(agendamento.getExecutarEm());
+        contrato.setAgendamentoAplicadoId(agendamento.getId());
+        when(contratoRepository.findByAccountId(ACCOUNT_ID_TEST)).thenReturn(Optional.of(contrato));
+
+        // Act
+        contratoService.aplicarAgendamento(agendamento);
+
+        // Assert
+        assertThat(contrato.getValorLimite()).isEqualByComparingTo("1000.00");
+        verify(contratoRepository, never()).save(any(Contrato.class));
+    }
+
+    @Test
+    @DisplayName("Deve recusar um agendamento anterior ao último aplicado na conta")
+    void aplicarAgendamento_OlderThanApplied_ThrowsException() {
+        // Arrange
+        AlteracaoLimiteAgendada antigo = agendamento(Instant.parse("2030-01-01T12:00:00Z"));
+        contrato.setAgendamentoAplicadoEm(antigo.getExecutarEm().plusSeconds(10));
+        contrato.setAgendamentoAplicadoId(UUID.randomUUID());
+        when(contratoRepository.findByAccountId(ACCOUNT_ID_TEST)).thenReturn(Optional.of(contrato));
+
+        // Act & Assert
+        assertThrows(RegraNegocioException.class, () -> contratoService.aplicarAgendamento(antigo));
+        verify(contratoRepository, never()).save(any(Contrato.class));
+    }
+
     @Test
     @DisplayName("Deve cancelar contrato com sucesso quando saldo devedor for zero")
     void cancelarContrato_Success() {
@@ -227,9 +284,18 @@ class ContratoServiceTest {
         when(contratoRepository.findByAccountId(ACCOUNT_ID_TEST)).thenReturn(Optional.of(contrato));
         
         // Act & Assert
-        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> {
+        RegraNegocioException thrown = assertThrows(RegraNegocioException.class, () -> {
             contratoService.cancelarContrato(ACCOUNT_ID_TEST);
         });
         assertThat(thrown.getMessage()).isEqualTo("Não é possível cancelar um contrato com saldo devedor positivo.");
     }
+
+    private static AlteracaoLimiteAgendada agendamento(Instant executarEm) {
+        return AlteracaoLimiteAgendada.builder()
+            .id(UUID.randomUUID())
+            .accountId(ACCOUNT_ID_TEST)
+            .valorLimite(new BigDecimal("1500.00"))
+            .executarEm(executarEm)
+            .build();
+    }
 }
@@ -0,0 +1,276 @@
+package com.itau.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import com.itau.api.dto.RebalanceamentoResponseDTO;
+import com.itau.api.model.Contrato;
+import com.itau.api.shard.ConsistentHashRing;
+import com.itau.api.shard.FaseMigracao;
+import com.itau.api.shard.ShardDataSources;
+import com.itau.api.shard.ShardRouter;
+
+@ExtendWith(MockitoExtension.class)
+class RebalanceamentoServiceTest {
+
+    private static final ConsistentHashRing ANEL_A = new ConsistentHashRing(List.of("a"), 160);
+    private static final ConsistentHashRing ANEL_AC = new ConsistentHashRing(List.of("a", "c"), 160);
+
+    @Mock
+    private ShardRouter shardRouter;
+
+    @Mock
+    private ShardDataSources dataSources;
+
+    @Mock
+    private JdbcTemplate jdbcA;
+
+    @Mock
+    private JdbcTemplate jdbcC;
+
+    @InjectMocks
+    private RebalanceamentoService rebalanceamentoService;
+
+    /** Conta que fica no shard "a" nos dois anéis. */
+    private String contaMantida;
+    /** Conta que sai do shard "a" para o shard "c" no novo anel. */
+    private String contaMovida;
+
+    @BeforeEach
+    void setUp() {
+        contaMantida = conta("a");
+        contaMovida = conta("c");
+        lenient().when(shardRouter.dataSources()).thenReturn(dataSources);
+        lenient().when(shardRouter.shardsConfigurados()).thenReturn(List.of("a", "c"));
+        lenient().when(dataSources.jdbc("a")).thenReturn(jdbcA);
+        lenient().when(dataSources.jdbc("c")).thenReturn(jdbcC);
+    }
+
+    @Test
+    @DisplayName("Deve copiar para o novo dono apenas os contratos que mudam de shard")
+    void copiarContratos_CopiesOnlyMovedContracts() {
+        // Arrange
+        when(shardRouter.exigirFase(FaseMigracao.DUAL_WRITE))
+                .thenReturn(new ShardRouter.Topologia(FaseMigracao.DUAL_WRITE, ANEL_A, ANEL_AC));
+        Contrato movido = contrato(contaMovida, 2);
+        shard(jdbcA, List.of(movido, contrato(contaMantida, 1)), List.of(movido));
+        shard(jdbcC, List.of(), List.of());
+        when(jdbcC.update(contains("DO NOTHING"), any(Object[].class))).thenReturn(1);
+
+        // Act
+        RebalanceamentoResponseDTO response = rebalanceamentoService.copiarContratos();
+
+        // Assert
+        assertThat(response.getContratos()).isEqualTo(1);
+        verify(jdbcC).update(contains("DO NOTHING"), eq(movido.getId()), eq(contaMovida),
+                eq(movido.getValorLimite()), eq(movido.getSaldoDevedor()), eq(2L), isNull(), isNull());
+        verify(jdbcC, never()).update(eq(ShardRouter.SQL_DELETE), any(Object[].class));
+        verify(jdbcA, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Deve remover a cópia quando o contrato deixar de existir na origem durante a cópia")
+    void copiarContratos_OriginDeletedDuringCopy_RemovesCopy() {
+        // Arrange
+        when(shardRouter.exigirFase(FaseMigracao.DUAL_WRITE))
+                .thenReturn(new ShardRouter.Topologia(FaseMigracao.DUAL_WRITE, ANEL_A, ANEL_AC));
+        Contrato movido = contrato(contaMovida, 0);
+        shard(jdbcA, List.of(movido), List.of());
+        shard(jdbcC, List.of(), List.of());
+
+        // Act
+        rebalanceamentoService.copiarContratos();
+
+        // Assert
+        InOrder ordem = inOrder(jdbcC);
+        ordem.verify(jdbcC).update(contains("DO NOTHING"), any(Object[].class));
+        ordem.verify(jdbcC).update(ShardRouter.SQL_DELETE, movido.getId(), contaMovida);
+    }
+
+    @Test
+    @DisplayName("Deve sobrescrever as cópias divergentes e remover as cópias órfãs na ressincronização")
+    void ressincronizarContratos_OverwritesStaleAndRemovesOrphanCopies() {
+        // Arrange
+        when(shardRouter.iniciarRessincronizacao())
+                .thenReturn(new ShardRouter.Topologia(FaseMigracao.CONGELADA, ANEL_A, ANEL_AC));
+        when(shardRouter.divergentes()).thenReturn(Set.of(contaMovida));
+        String contaRemovida = conta("c", contaMovida);
+        Contrato movido = contrato(contaMovida, 5);
+        Contrato copiaAntiga = copia(movido, 4);
+        copiaAntiga.setSaldoDevedor(BigDecimal.ZERO);
+        Contrato copiaOrfa = contrato(contaRemovida, 1);
+        shard(jdbcA, List.of(movido, contrato(contaMantida, 1)), List.of(movido));
+        shard(jdbcC, List.of(copiaAntiga, copiaOrfa), List.of(copiaAntiga, copiaOrfa));
+        when(jdbcC.update(contains("id = EXCLUDED.id"), any(Object[].class))).thenReturn(1);
+        when(jdbcC.update(ShardRouter.SQL_DELETE, copiaOrfa.getId(), contaRemovida)).thenReturn(1);
+
+        // Act
+        RebalanceamentoResponseDTO response = rebalanceamentoService.ressincronizarContratos();
+
+        // Assert
+        assertThat(response.getContratos()).isEqualTo(2);
+        verify(jdbcC).update(contains("id = EXCLUDED.id"), eq(movido.getId()), eq(contaMovida),
+                eq(movido.getValorLimite()), eq(movido.getSaldoDevedor()), eq(5L), isNull(), isNull());
+        verify(shardRouter).concluirRessincronizacao(Set.of(contaMovida));
+    }
+
+    @Test
+    @DisplayName("Não deve reescrever na ressincronização uma cópia idêntica à origem")
+    void ressincronizarContratos_IdenticalCopy_DoesNotWrite() {
+        // Arrange
+        when(shardRouter.iniciarRessincronizacao())
+                .thenReturn(new ShardRouter.Topologia(FaseMigracao.CONGELADA, ANEL_A, ANEL_AC));
+        Contrato movido = contrato(contaMovida, 5);
+        Contrato copia = copia(movido, 5);
+        shard(jdbcA, List.of(movido), List.of(movido));
+        shard(jdbcC, List.of(copia), List.of(copia));
+
+        // Act
+        RebalanceamentoResponseDTO response = rebalanceamentoService.ressincronizarContratos();
+
+        // Assert
+        assertThat(response.getContratos()).isZero();
+        verify(jdbcC, never()).update(anyString(), any(Object[].class));
+        verify(shardRouter).concluirRessincronizacao(Set.of());
+    }
+
+    @Test
+    @DisplayName("Deve reconciliar a conta divergente com a versão do shard autoritativo antes de finalizar")
+    void finalizarMigracao_DivergentAccount_UpsertsAuthoritativeVersion() {
+        // Arrange
+        when(shardRouter.exigirFase(FaseMigracao.CUTOVER))
+                .thenReturn(new ShardRouter.Topologia(FaseMigracao.CUTOVER, ANEL_AC, ANEL_A));
+        when(shardRouter.divergentes()).thenReturn(Set.of(contaMovida));
+        Contrato autoritativo = contrato(contaMovida, 7);
+        shard(jdbcC, List.of(), List.of(autoritativo));
+
+        // Act
+        rebalanceamentoService.finalizarMigracao();
+
+        // Assert
+        InOrder ordem = inOrder(shardRouter, jdbcA);
+        ordem.verify(shardRouter).removerDivergente(contaMovida);
+        ordem.verify(jdbcA).update(ShardRouter.SQL_UPSERT, autoritativo.getId(), contaMovida,
+                autoritativo.getValorLimite(), autoritativo.getSaldoDevedor(), 7L, null, null);
+        ordem.verify(shardRouter).finalizarMigracao();
+    }
+
+    @Test
+    @DisplayName("Deve remover a réplica da conta divergente quando o contrato não existir no shard autoritativo")
+    void finalizarMigracao_DivergentAccountRemoved_DeletesReplica() {
+        // Arrange
+        when(shardRouter.exigirFase(FaseMigracao.CUTOVER))
+                .thenReturn(new ShardRouter.Topologia(FaseMigracao.CUTOVER, ANEL_AC, ANEL_A));
+        when(shardRouter.divergentes()).thenReturn(Set.of(contaMovida));
+        shard(jdbcC, List.of(), List.of());
+
+        // Act
+        rebalanceamentoService.finalizarMigracao();
+
+        // Assert
+        verify(jdbcA).update("DELETE FROM contratos WHERE account_id = ?", contaMovida);
+        verify(shardRouter).finalizarMigracao();
+    }
+
+    @Test
+    @DisplayName("Deve registrar novamente a conta divergente e não finalizar quando a reconciliação falhar")
+    void finalizarMigracao_ReconciliationFails_ReRegistersDivergent() {
+        // Arrange
+        when(shardRouter.exigirFase(FaseMigracao.CUTOVER))
+                .thenReturn(new ShardRouter.Topologia(FaseMigracao.CUTOVER, ANEL_AC, ANEL_A));
+        when(shardRouter.divergentes()).thenReturn(Set.of(contaMovida));
+        shard(jdbcC, List.of(), List.of(contrato(contaMovida, 7)));
+        when(jdbcA.update(eq(ShardRouter.SQL_UPSERT), any(Object[].class)))
+                .thenThrow(new DataAccessResourceFailureException("fora do ar"));
+
+        // Act & Assert
+        assertThrows(DataAccessResourceFailureException.class, rebalanceamentoService::finalizarMigracao);
+        verify(shardRouter).registrarDivergente(contaMovida);
+        verify(shardRouter, never()).finalizarMigracao();
+    }
+
+    @Test
+    @DisplayName("Deve remover na limpeza apenas os contratos que pertencem a outro shard")
+    void limparContratos_RemovesOnlyOrphans() {
+        // Arrange
+        when(shardRouter.exigirFase(FaseMigracao.ESTAVEL))
+                .thenReturn(new ShardRouter.Topologia(FaseMigracao.ESTAVEL, ANEL_AC, null));
+        Contrato orfao = contrato(contaMovida, 3);
+        shard(jdbcA, List.of(orfao, contrato(contaMantida, 1)), List.of());
+        shard(jdbcC, List.of(contrato(contaMovida, 3)), List.of());
+        when(jdbcA.update(ShardRouter.SQL_DELETE, orfao.getId(), contaMovida)).thenReturn(1);
+
+        // Act
+        RebalanceamentoResponseDTO response = rebalanceamentoService.limparContratos();
+
+        // Assert
+        assertThat(response.getContratos()).isEqualTo(1);
+        verify(jdbcC, never()).update(anyString(), any(Object[].class));
+    }
+
+    /**
+     * Simula um shard: a consulta paginada devolve {@code pagina} e a consulta por conta procura em {@code porConta}.
+     */
+    @SuppressWarnings("unchecked")
+    private static void shard(JdbcTemplate jdbc, List<Contrato> pagina, List<Contrato> porConta) {
+        lenient().when(jdbc.query(contains("WHERE id > ?"), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(pagina);
+        lenient().when(jdbc.query(contains("WHERE account_id = ?"), any(RowMapper.class), any(Object[].class)))
+                .thenAnswer(invocation -> porConta.stream()
+                        .filter(contrato -> contrato.getAccountId().equals(invocation.getArgument(2)))
+                        .toList());
+    }
+
+    private static String conta(String donoNoNovoAnel, String... exceto) {
+        return IntStream.range(0, 10_000).mapToObj(i -> "conta-" + i)
+                .filter(conta -> ANEL_AC.shardDe(conta).equals(donoNoNovoAnel))
+                .filter(conta -> !List.of(exceto).contains(conta))
+                .findFirst().orElseThrow();
+    }
+
+    private static Contrato contrato(String accountId, long version) {
+        return contrato(UUID.randomUUID(), accountId, version);
+    }
+
+    private static Contrato copia(Contrato contrato, long version) {
+        return contrato(contrato.getId(), contrato.getAccountId(), version);
+    }
+
+    private static Contrato contrato(UUID id, String accountId, long version) {
+        return Contrato.builder()
+                .id(id)
+                .accountId(accountId)
+                .valorLimite(new BigDecimal("1000.00"))
+                .saldoDevedor(new BigDecimal("200.00"))
+                .version(version)
+                .build();
+    }
+}
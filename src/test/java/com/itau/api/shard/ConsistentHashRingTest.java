@@ -0,0 +1,74 @@
+package com.itau.api.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTest {
+
+    private static final int CONTAS = 100_000;
+    private static final int VIRTUAL_NODES = 160;
+
+    @Test
+    @DisplayName("Deve associar sempre a mesma conta ao mesmo shard, independente da ordem dos shards")
+    void shardDe_IsDeterministic() {
+        // Arrange
+        ConsistentHashRing anel = new ConsistentHashRing(List.of("a", "b", "c"), VIRTUAL_NODES);
+        ConsistentHashRing outraOrdem = new ConsistentHashRing(List.of("c", "a", "b"), VIRTUAL_NODES);
+
+        // Act & Assert
+        for (int i = 0; i < 1_000; i++) {
+            String conta = "conta-" + i;
+            assertThat(anel.shardDe(conta)).isEqualTo(anel.shardDe(conta)).isEqualTo(outraOrdem.shardDe(conta));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve distribuir as contas de forma equilibrada entre os shards")
+    void shardDe_DistributesEvenly() {
+        // Arrange
+        ConsistentHashRing anel = new ConsistentHashRing(List.of("a", "b", "c", "d"), VIRTUAL_NODES);
+        Map<String, Integer> porShard = new HashMap<>();
+
+        // Act
+        for (int i = 0; i < CONTAS; i++) {
+            porShard.merge(anel.shardDe("conta-" + i), 1, Integer::sum);
+        }
+
+        // Assert
+        assertThat(porShard).hasSize(4);
+        porShard.values().forEach(quantidade -> assertThat(quantidade).isBetween(CONTAS / 4 * 80 / 100, CONTAS / 4 * 120 / 100));
+    }
+
+    @Test
+    @DisplayName("Deve mover apenas contas para o novo shard ao adicioná-lo ao anel")
+    void shardDe_AddingShard_MovesOnlyItsShare() {
+        // Arrange
+        ConsistentHashRing antes = new ConsistentHashRing(List.of("a", "b", "c"), VIRTUAL_NODES);
+        ConsistentHashRing depois = new ConsistentHashRing(List.of("a", "b", "c", "d"), VIRTUAL_NODES);
+        int movidas = 0;
+
+        // Act & Assert
+        for (int i = 0; i < CONTAS; i++) {
+            String conta = "conta-" + i;
+            String novoDono = depois.shardDe(conta);
+            if (!novoDono.equals(antes.shardDe(conta))) {
+                assertThat(novoDono).isEqualTo("d");
+                movidas++;
+            }
+        }
+        assertThat(movidas).isBetween(CONTAS / 4 * 80 / 100, CONTAS / 4 * 120 / 100);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar um anel sem shards")
+    void constructor_WithoutShards_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(List.of(), VIRTUAL_NODES));
+    }
+}
@@ -0,0 +1,123 @@
+package com.itau.api.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+class RegistroTopologiaTest {
+
+    private JdbcTemplate jdbc;
+    private RegistroTopologia registro;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = mock(JdbcTemplate.class);
+        registro = new RegistroTopologia(jdbc);
+    }
+
+    @Test
+    @DisplayName("Deve gravar a fase e os anéis do nó com os shards separados por vírgula")
+    void gravar_JoinsShards() {
+        // Act
+        registro.gravar("node-a", FaseMigracao.DUAL_WRITE, List.of("a", "b"), List.of("a", "b", "c"), 160);
+        registro.gravar("node-a", FaseMigracao.ESTAVEL, List.of("a", "b", "c"), null, 160);
+
+        // Assert
+        verify(jdbc).update(contains("INSERT INTO shard_topologia"), eq("node-a"), eq("DUAL_WRITE"), eq("a,b"), eq("a,b,c"), eq(160));
+        verify(jdbc).update(contains("INSERT INTO shard_topologia"), eq("node-a"), eq("ESTAVEL"), eq("a,b,c"), isNull(), eq(160));
+    }
+
+    @Test
+    @DisplayName("Deve ler a topologia gravada convertendo a fase e os anéis")
+    @SuppressWarnings("unchecked")
+    void buscar_MapsStoredRow() throws Exception {
+        // Arrange
+        ResultSet linha = mock(ResultSet.class);
+        when(linha.getString("node_id")).thenReturn("node-a");
+        when(linha.getString("fase")).thenReturn("CONGELADA");
+        when(linha.getString("anel")).thenReturn("a,b");
+        when(linha.getString("espelho")).thenReturn("a,b,c");
+        when(linha.getInt("virtual_nodes")).thenReturn(160);
+        ArgumentCaptor<RowMapper<RegistroTopologia.TopologiaGravada>> mapper = ArgumentCaptor.forClass(RowMapper.class);
+        when(jdbc.query(anyString(), mapper.capture(), eq("node-a"))).thenAnswer(invocation ->
+                List.of(mapper.getValue().mapRow(linha, 0)));
+
+        // Act
+        Optional<RegistroTopologia.TopologiaGravada> gravada = registro.buscar("node-a");
+
+        // Assert
+        assertThat(gravada).contains(new RegistroTopologia.TopologiaGravada(
+                "node-a", FaseMigracao.CONGELADA, List.of("a", "b"), List.of("a", "b", "c"), 160));
+    }
+
+    @Test
+    @DisplayName("Deve ler o espelho ausente como nulo e retornar vazio para nó sem topologia")
+    @SuppressWarnings("unchecked")
+    void listarEBuscar_WithoutMirrorOrRow() throws Exception {
+        // Arrange
+        ResultSet linha = mock(ResultSet.class);
+        when(linha.getString("node_id")).thenReturn("node-b");
+        when(linha.getString("fase")).thenReturn("ESTAVEL");
+        when(linha.getString("anel")).thenReturn("a");
+        ArgumentCaptor<RowMapper<RegistroTopologia.TopologiaGravada>> mapper = ArgumentCaptor.forClass(RowMapper.class);
+        when(jdbc.query(anyString(), mapper.capture())).thenAnswer(invocation -> List.of(mapper.getValue().mapRow(linha, 0)));
+        when(jdbc.query(anyString(), any(RowMapper.class), eq("node-c"))).thenReturn(List.of());
+
+        // Act
+        List<RegistroTopologia.TopologiaGravada> todas = registro.listar();
+        Optional<RegistroTopologia.TopologiaGravada> ausente = registro.buscar("node-c");
+
+        // Assert
+        assertThat(todas).singleElement().satisfies(gravada -> {
+            assertThat(gravada.anel()).containsExactly("a");
+            assertThat(gravada.espelho()).isNull();
+        });
+        assertThat(ausente).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve gravar o cutover apenas quando a linha congelada e ressincronizada for atualizada")
+    void gravarCutover_ReturnsWhetherRowWasUpdated() {
+        // Arrange
+        when(jdbc.update(contains("fase = 'CUTOVER'"), eq("a,c"), eq("a,b"), eq("node-a"))).thenReturn(1, 0);
+
+        // Act & Assert
+        assertThat(registro.gravarCutover("node-a", List.of("a", "c"), List.of("a", "b"))).isTrue();
+        assertThat(registro.gravarCutover("node-a", List.of("a", "c"), List.of("a", "b"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve registrar, listar e remover contas divergentes e marcar a ressincronização")
+    void divergentesERessincronizacao() {
+        // Arrange
+        when(jdbc.queryForList(contains("shard_divergentes"), eq(String.class))).thenReturn(List.of("1234-5", "1234-5"));
+
+        // Act
+        registro.registrarDivergente("1234-5");
+        registro.removerDivergente("9876-5");
+        registro.marcarRessincronizada(true);
+
+        // Assert
+        assertThat(registro.divergentes()).containsExactly("1234-5");
+        verify(jdbc).update(contains("INSERT INTO shard_divergentes"), eq("1234-5"));
+        verify(jdbc).update(contains("DELETE FROM shard_divergentes"), eq("9876-5"));
+        verify(jdbc).update(contains("SET ressincronizada = ?"), eq(true));
+    }
+}
@@ -0,0 +1,39 @@
+package com.itau.api.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
+
+import java.io.Closeable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ShardDataSourcesTest {
+
+    @Test
+    @DisplayName("Deve usar o primeiro shard como padrão, recusar shards não configurados e fechar os bancos")
+    void shardDataSources_DefaultShardUnknownShardAndClose() throws Exception {
+        // Arrange
+        DataSource dataSourceA = mock(DataSource.class);
+        DataSource dataSourceB = mock(DataSource.class, withSettings().extraInterfaces(Closeable.class));
+        Map<String, DataSource> porShard = new LinkedHashMap<>();
+        porShard.put("a", dataSourceA);
+        porShard.put("b", dataSourceB);
+        ShardDataSources dataSources = new ShardDataSources(porShard);
+
+        // Act & Assert
+        assertThat(dataSources.shardPadrao()).isEqualTo("a");
+        assertThat(dataSources.jdbc("b").getDataSource()).isSameAs(dataSourceB);
+        assertThrows(IllegalArgumentException.class, () -> dataSources.jdbc("z"));
+
+        dataSources.close();
+        verify((Closeable) dataSourceB).close();
+    }
+}
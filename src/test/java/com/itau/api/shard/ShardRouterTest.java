@@ -0,0 +1,413 @@
+package com.itau.api.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.itau.api.exception.ShardCongeladoException;
+import com.itau.api.exception.ShardIncorretoException;
+import com.itau.api.model.Contrato;
+
+class ShardRouterTest {
+
+    private static final String NODE_LOCAL = "node-a";
+    private static final String URL_REMOTO = "http://node-b:8080";
+
+    private ShardingProperties properties;
+    private ShardDataSources dataSources;
+    private RegistroTopologia registro;
+    private JdbcTemplate jdbcC;
+    private ShardRouter router;
+
+    @BeforeEach
+    void setUp() {
+        dataSources = mock(ShardDataSources.class);
+        registro = mock(RegistroTopologia.class);
+        jdbcC = mock(JdbcTemplate.class);
+        when(dataSources.jdbc("c")).thenReturn(jdbcC);
+
+        properties = new ShardingProperties(true, NODE_LOCAL, 160,
+                Map.of("node-b", URL_REMOTO),
+                List.of(
+                        new ShardingProperties.Shard("a", "jdbc:a", "u", "p", NODE_LOCAL, true),
+                        new ShardingProperties.Shard("b", "jdbc:b", "u", "p", "node-b", true),
+                        new ShardingProperties.Shard("c", "jdbc:c", "u", "p", NODE_LOCAL, false)));
+        router = new ShardRouter(properties, dataSources, registro);
+    }
+
+    @Test
+    @DisplayName("Deve gravar a topologia configurada na primeira inicialização do nó")
+    void inicializacao_WithoutStoredTopology_StoresConfiguredRing() {
+        // Assert
+        assertThat(router.topologia().fase()).isEqualTo(FaseMigracao.ESTAVEL);
+        assertThat(router.topologia().anel().shards()).containsExactly("a", "b");
+        verify(registro).gravar(NODE_LOCAL, FaseMigracao.ESTAVEL, List.of("a", "b"), null, 160);
+    }
+
+    @Test
+    @DisplayName("Deve retomar a topologia gravada em vez de recalculá-la pela configuração")
+    void inicializacao_WithStoredTopology_ResumesPhase() {
+        // Arrange
+        when(registro.buscar(NODE_LOCAL)).thenReturn(Optional.of(new RegistroTopologia.TopologiaGravada(
+                NODE_LOCAL, FaseMigracao.CUTOVER, List.of("a", "b", "c"), List.of("a", "b"), 160)));
+
+        // Act
+        ShardRouter reiniciado = new ShardRouter(properties, dataSources, registro);
+
+        // Assert
+        assertThat(reiniciado.topologia().fase()).isEqualTo(FaseMigracao.CUTOVER);
+        assertThat(reiniciado.topologia().anel().shards()).containsExactly("a", "b", "c");
+        assertThat(reiniciado.topologia().espelho().shards()).containsExactly("a", "b");
+    }
+
+    @Test
+    @DisplayName("Não deve iniciar quando a topologia estável gravada diferir dos shards ativos configurados")
+    void inicializacao_StableTopologyDiffersFromConfig_ThrowsException() {
+        // Arrange
+        when(registro.buscar(NODE_LOCAL)).thenReturn(Optional.of(new RegistroTopologia.TopologiaGravada(
+                NODE_LOCAL, FaseMigracao.ESTAVEL, List.of("a", "b", "c"), null, 160)));
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> new ShardRouter(properties, dataSources, registro));
+        assertThat(exception.getMessage()).contains("sharding.shards[].ativo");
+    }
+
+    @Test
+    @DisplayName("Não deve iniciar um novo nó enquanto outro nó estiver em rebalanceamento")
+    void inicializacao_OtherNodeMigrating_ThrowsException() {
+        // Arrange
+        when(registro.buscar("node-c")).thenReturn(Optional.empty());
+        when(registro.listar()).thenReturn(List.of(new RegistroTopologia.TopologiaGravada(
+                NODE_LOCAL, FaseMigracao.DUAL_WRITE, List.of("a", "b"), List.of("a", "b", "c"), 160)));
+        ShardingProperties novoNo = new ShardingProperties(true, "node-c", 160, properties.nodes(), properties.shards());
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> new ShardRouter(novoNo, dataSources, registro));
+    }
+
+    @Test
+    @DisplayName("Deve executar a operação com o shard da conta no contexto e restaurá-lo ao final")
+    void executar_LocalShard_SetsContext() {
+        // Arrange
+        String conta = contaNoShard("a");
+
+        // Act
+        String shardDuranteOperacao = router.executar(conta, ShardContext::atual);
+
+        // Assert
+        assertThat(shardDuranteOperacao).isEqualTo("a");
+        assertThat(ShardContext.atual()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve recusar a operação com o endereço do nó dono quando o shard for remoto")
+    void executar_RemoteShard_ThrowsShardIncorreto() {
+        // Arrange
+        String conta = contaNoShard("b");
+
+        // Act & Assert
+        ShardIncorretoException exception = assertThrows(ShardIncorretoException.class,
+                () -> router.executar(conta, () -> "nunca"));
+        assertThat(exception.getShard()).isEqualTo("b");
+        assertThat(exception.getNodeUrl()).isEqualTo(URL_REMOTO);
+        assertThat(router.isLocal(conta)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve espelhar gravações no shard de destino apenas durante o rebalanceamento")
+    void replicarGravacao_DuringMigration_WritesToDestination() {
+        // Arrange
+        ShardRouter.Topologia estavel = router.topologia();
+        router.iniciarMigracao(List.of("a", "b", "c"));
+        String conta = IntStream.range(0, 10_000).mapToObj(i -> "conta-" + i)
+                .filter(c -> router.topologia().espelho().shardDe(c).equals("c"))
+                .findFirst().orElseThrow();
+        Contrato contrato = contrato(conta);
+        contrato.setAgendamentoAplicadoEm(Instant.parse("2030-01-01T12:00:00Z"));
+        contrato.setAgendamentoAplicadoId(UUID.randomUUID());
+
+        // Act
+        router.replicarGravacao(contrato);
+
+        // Assert
+        assertThat(estavel.espelho()).isNull();
+        verify(jdbcC).update(eq(ShardRouter.SQL_UPSERT), eq(contrato.getId()), eq(conta),
+                eq(contrato.getValorLimite()), eq(contrato.getSaldoDevedor()), eq(contrato.getVersion()),
+                eq(Timestamp.from(contrato.getAgendamentoAplicadoEm())), eq(contrato.getAgendamentoAplicadoId()));
+    }
+
+    @Test
+    @DisplayName("Deve espelhar a remoção apenas do mesmo contrato no shard de destino")
+    void replicarRemocao_DuringMigration_DeletesSameContract() {
+        // Arrange
+        router.iniciarMigracao(List.of("c"));
+        Contrato contrato = contrato(contaNoShard("a"));
+
+        // Act
+        router.replicarRemocao(contrato);
+
+        // Assert
+        verify(jdbcC).update(ShardRouter.SQL_DELETE, contrato.getId(), contrato.getAccountId());
+    }
+
+    @Test
+    @DisplayName("Não deve espelhar gravações fora de um rebalanceamento")
+    void replicarGravacao_Stable_DoesNothing() {
+        // Act
+        router.replicarGravacao(contrato(contaNoShard("a")));
+
+        // Assert
+        verify(dataSources, never()).jdbc(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve registrar a conta como divergente quando a réplica falhar")
+    void replicarGravacao_Failure_MarksDivergent() {
+        // Arrange
+        router.iniciarMigracao(List.of("c"));
+        String conta = contaNoShard("a");
+        when(jdbcC.update(anyString(), any(Object[].class))).thenThrow(new DataAccessResourceFailureException("fora do ar"));
+
+        // Act
+        router.replicarGravacao(contrato(conta));
+
+        // Assert
+        verify(registro).registrarDivergente(conta);
+    }
+
+    @Test
+    @DisplayName("Deve manter a conta divergente no nó quando não conseguir gravá-la no registro")
+    void registrarDivergente_RegistryFailure_KeepsInMemory() {
+        // Arrange
+        doThrow(new DataAccessResourceFailureException("fora do ar")).when(registro).registrarDivergente("conta-1");
+
+        // Act
+        router.registrarDivergente("conta-1");
+
+        // Assert
+        assertThat(router.divergentes()).containsExactly("conta-1");
+    }
+
+    @Test
+    @DisplayName("Deve trocar os anéis no cutover e voltar à topologia estável na finalização")
+    void migracao_PhasesSwapRings() {
+        // Act & Assert
+        when(registro.gravarCutover(NODE_LOCAL, List.of("a", "c"), List.of("a", "b"))).thenReturn(true);
+
+        router.iniciarMigracao(List.of("a", "c"));
+        assertThrows(IllegalStateException.class, () -> router.iniciarMigracao(List.of("a")));
+        assertThrows(IllegalStateException.class, router::finalizarMigracao);
+        assertThrows(IllegalStateException.class, router::concluirCutover);
+
+        assertThat(router.congelar().fase()).isEqualTo(FaseMigracao.CONGELADA);
+        ShardRouter.Topologia cutover = router.concluirCutover();
+        assertThat(cutover.fase()).isEqualTo(FaseMigracao.CUTOVER);
+        assertThat(cutover.anel().shards()).containsExactly("a", "c");
+        assertThat(cutover.espelho().shards()).containsExactly("a", "b");
+
+        ShardRouter.Topologia estavel = router.finalizarMigracao();
+        assertThat(estavel.fase()).isEqualTo(FaseMigracao.ESTAVEL);
+        assertThat(estavel.espelho()).isNull();
+        assertThat(router.isLocal(contaNoShard("c"))).isTrue();
+
+        verify(registro).gravar(NODE_LOCAL, FaseMigracao.DUAL_WRITE, List.of("a", "b"), List.of("a", "c"), 160);
+        verify(registro).gravar(NODE_LOCAL, FaseMigracao.CONGELADA, List.of("a", "b"), List.of("a", "c"), 160);
+        verify(registro).gravarCutover(NODE_LOCAL, List.of("a", "c"), List.of("a", "b"));
+        verify(registro).gravar(NODE_LOCAL, FaseMigracao.ESTAVEL, List.of("a", "c"), null, 160);
+    }
+
+    @Test
+    @DisplayName("Deve recusar com 503 apenas as contas que mudam de shard enquanto o rebalanceamento estiver congelado")
+    void executar_Frozen_RejectsOnlyMovingAccounts() {
+        // Arrange
+        router.iniciarMigracao(List.of("a", "c"));
+        router.congelar();
+        String movida = contaMovida("a", "c");
+        String mantida = contaMantida("a");
+
+        // Act & Assert
+        assertThrows(ShardCongeladoException.class, () -> router.executar(movida, () -> "nunca"));
+        assertThat(router.executar(mantida, ShardContext::atual)).isEqualTo("a");
+    }
+
+    @Test
+    @DisplayName("Não deve concluir o cutover antes da ressincronização das contas congeladas")
+    void concluirCutover_WithoutResync_ThrowsException() {
+        // Arrange
+        router.iniciarMigracao(List.of("a", "c"));
+        router.congelar();
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, router::concluirCutover);
+        assertThat(router.topologia().fase()).isEqualTo(FaseMigracao.CONGELADA);
+    }
+
+    @Test
+    @DisplayName("Não deve ressincronizar enquanto algum nó não estiver congelado")
+    void iniciarRessincronizacao_NodeNotFrozen_ThrowsException() {
+        // Arrange
+        router.iniciarMigracao(List.of("a", "c"));
+        router.congelar();
+        when(registro.listar()).thenReturn(List.of(
+                gravada(NODE_LOCAL, FaseMigracao.CONGELADA),
+                gravada("node-b", FaseMigracao.DUAL_WRITE)));
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class, router::iniciarRessincronizacao);
+        assertThat(exception.getMessage()).contains("node-b");
+    }
+
+    @Test
+    @DisplayName("Deve liberar o cutover e descartar apenas as divergentes cobertas pela ressincronização")
+    void ressincronizacao_AllNodesFrozen_MarksResyncedAndKeepsLaterDivergents() {
+        // Arrange
+        router.iniciarMigracao(List.of("a", "c"));
+        router.congelar();
+        when(registro.listar()).thenReturn(List.of(
+                gravada(NODE_LOCAL, FaseMigracao.CONGELADA),
+                gravada("node-b", FaseMigracao.CONGELADA)));
+        String movida = contaMovida("a", "c");
+        String mantida = contaMantida("a");
+
+        // Act
+        router.iniciarRessincronizacao();
+        router.concluirRessincronizacao(Set.of(movida, mantida));
+
+        // Assert
+        verify(registro).marcarRessincronizada(false);
+        verify(registro).removerDivergente(movida);
+        verify(registro, never()).removerDivergente(mantida);
+        verify(registro).marcarRessincronizada(true);
+    }
+
+    @Test
+    @DisplayName("Deve esperar as operações em andamento antes de congelar")
+    void congelar_WaitsForInFlightOperations() throws Exception {
+        // Arrange
+        router.iniciarMigracao(List.of("a", "c"));
+        String movida = contaMovida("a", "c");
+        CountDownLatch iniciada = new CountDownLatch(1);
+        CountDownLatch liberada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<FaseMigracao> operacao = executor.submit(() -> router.executar(movida, () -> {
+                iniciada.countDown();
+                aguardar(liberada);
+                return router.topologia().fase();
+            }));
+            iniciada.await();
+
+            // Act
+            Future<ShardRouter.Topologia> congelamento = executor.submit(router::congelar);
+
+            // Assert
+            assertThrows(TimeoutException.class, () -> congelamento.get(200, TimeUnit.MILLISECONDS));
+            liberada.countDown();
+            assertThat(operacao.get(5, TimeUnit.SECONDS)).isEqualTo(FaseMigracao.DUAL_WRITE);
+            assertThat(congelamento.get(5, TimeUnit.SECONDS).fase()).isEqualTo(FaseMigracao.CONGELADA);
+            assertThrows(ShardCongeladoException.class, () -> router.executar(movida, () -> "nunca"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve manter a ressincronização anterior quando um nó já tiver concluído o cutover")
+    void iniciarRessincronizacao_NodeAlreadyCutOver_ThrowsException() {
+        // Arrange
+        router.iniciarMigracao(List.of("a", "c"));
+        router.congelar();
+        when(registro.listar()).thenReturn(List.of(gravada("node-b", FaseMigracao.CUTOVER)));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, router::iniciarRessincronizacao);
+        verify(registro, never()).marcarRessincronizada(false);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar a migração para um shard não configurado")
+    void iniciarMigracao_UnknownShard_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> router.iniciarMigracao(List.of("a", "z")));
+    }
+
+    @Test
+    @DisplayName("Deve executar diretamente quando o sharding estiver desabilitado")
+    void semSharding_ExecutesWithoutContext() {
+        // Arrange
+        ShardRouter semSharding = ShardRouter.semSharding();
+
+        // Act & Assert
+        assertThat(semSharding.executar("qualquer", ShardContext::atual)).isNull();
+        assertThat(semSharding.isLocal("qualquer")).isTrue();
+        assertThrows(IllegalStateException.class, () -> semSharding.iniciarMigracao(List.of("a")));
+    }
+
+    private String contaNoShard(String shard) {
+        return IntStream.range(0, 10_000).mapToObj(i -> "conta-" + i)
+                .filter(conta -> router.topologia().anel().shardDe(conta).equals(shard))
+                .findFirst().orElseThrow();
+    }
+
+    private String contaMovida(String origem, String destino) {
+        return IntStream.range(0, 10_000).mapToObj(i -> "conta-" + i)
+                .filter(c -> router.topologia().anel().shardDe(c).equals(origem))
+                .filter(c -> router.topologia().espelho().shardDe(c).equals(destino))
+                .findFirst().orElseThrow();
+    }
+
+    private String contaMantida(String shard) {
+        return contaMovida(shard, shard);
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static RegistroTopologia.TopologiaGravada gravada(String nodeId, FaseMigracao fase) {
+        return new RegistroTopologia.TopologiaGravada(nodeId, fase, List.of("a", "b"), List.of("a", "c"), 160);
+    }
+
+    private static Contrato contrato(String accountId) {
+        return Contrato.builder()
+                .id(UUID.randomUUID())
+                .accountId(accountId)
+                .valorLimite(new BigDecimal("1000.00"))
+                .saldoDevedor(new BigDecimal("200.00"))
+                .version(3)
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.itau.api.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ShardRoutingDataSourceTest {
+
+    private DataSource dataSourceA;
+    private DataSource dataSourceB;
+    private ShardDataSources dataSources;
+    private ShardRoutingDataSource roteador;
+
+    @BeforeEach
+    void setUp() {
+        dataSourceA = mock(DataSource.class);
+        dataSourceB = mock(DataSource.class);
+        Map<String, DataSource> porShard = new LinkedHashMap<>();
+        porShard.put("a", dataSourceA);
+        porShard.put("b", dataSourceB);
+        dataSources = new ShardDataSources(porShard);
+
+        roteador = new ShardRoutingDataSource();
+        roteador.setTargetDataSources(new LinkedHashMap<>(dataSources.dataSources()));
+        roteador.setDefaultTargetDataSource(dataSources.dataSources().get(dataSources.shardPadrao()));
+        roteador.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ShardContext.definir(null);
+    }
+
+    @Test
+    @DisplayName("Deve obter a conexão do shard definido no contexto da thread")
+    void getConnection_WithShardInContext_UsesShardDataSource() throws Exception {
+        // Arrange
+        Connection conexao = mock(Connection.class);
+        when(dataSourceB.getConnection()).thenReturn(conexao);
+        ShardContext.definir("b");
+
+        // Act & Assert
+        assertThat(roteador.getConnection()).isSameAs(conexao);
+    }
+
+    @Test
+    @DisplayName("Deve usar o shard padrão quando nenhum shard estiver definido")
+    void getConnection_WithoutShard_UsesDefaultShard() throws Exception {
+        // Arrange
+        Connection conexao = mock(Connection.class);
+        when(dataSourceA.getConnection()).thenReturn(conexao);
+
+        // Act & Assert
+        assertThat(dataSources.shardPadrao()).isEqualTo("a");
+        assertThat(roteador.getConnection()).isSameAs(conexao);
+    }
+}